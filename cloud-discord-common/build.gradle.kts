@@ -6,4 +6,5 @@ plugins {
 dependencies {
     api(libs.cloud.core)
     implementation(libs.cloud.annotations)
+    implementation(libs.slf4j)
 }
@@ -0,0 +1,64 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Identifies the option that a user is autocompleting.
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class AutocompleteKey {
+
+    private final long user;
+    private final String commandPath;
+    private final String focusedOption;
+
+    AutocompleteKey(final long user, final @NonNull String commandPath, final @NonNull String focusedOption) {
+        this.user = user;
+        this.commandPath = Objects.requireNonNull(commandPath, "commandPath");
+        this.focusedOption = Objects.requireNonNull(focusedOption, "focusedOption");
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof AutocompleteKey)) {
+            return false;
+        }
+        final AutocompleteKey key = (AutocompleteKey) object;
+        return this.user == key.user
+                && this.commandPath.equals(key.commandPath)
+                && this.focusedOption.equals(key.focusedOption);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.user, this.commandPath, this.focusedOption);
+    }
+}
@@ -0,0 +1,112 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps track of the in-flight suggestion futures of autocomplete interactions.
+ *
+ * <p>Discord only uses the response to the most recent autocomplete interaction for an option. When a user types quickly,
+ * the interactions for earlier keystrokes are superseded before they have been answered. The tracker keeps a single
+ * in-flight future for each combination of user, command path and focused option. Tracking a newer future cancels the
+ * previous one, so that its result is dropped instead of being sent to Discord.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class AutocompleteTracker {
+
+    private final Map<AutocompleteKey, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder discarded = new LongAdder();
+
+    /**
+     * Tracks the given {@code future} as the in-flight suggestion future for the given option, and cancels the future
+     * that it supersedes.
+     *
+     * @param <T>           future result type
+     * @param user          snowflake of the user that is autocompleting
+     * @param commandPath   full name of the command that is being autocompleted
+     * @param focusedOption name of the focused option
+     * @param future        suggestion future
+     * @return the given {@code future}
+     */
+    public <T> @NonNull CompletableFuture<T> track(
+            final long user,
+            final @NonNull String commandPath,
+            final @NonNull String focusedOption,
+            final @NonNull CompletableFuture<T> future
+    ) {
+        Objects.requireNonNull(future, "future");
+        final AutocompleteKey key = new AutocompleteKey(user, commandPath, focusedOption);
+        final CompletableFuture<?> previous = future.isDone() ? this.inFlight.remove(key) : this.inFlight.put(key, future);
+        if (previous != null && previous.cancel(false)) {
+            this.discarded.increment();
+        }
+        if (!future.isDone()) {
+            future.whenComplete((result, throwable) -> this.inFlight.remove(key, future));
+        }
+        return future;
+    }
+
+    /**
+     * Returns the number of in-flight suggestion futures that are being tracked.
+     *
+     * @return the number of in-flight futures
+     */
+    public int inFlight() {
+        return this.inFlight.size();
+    }
+
+    /**
+     * Returns the number of suggestion futures that were cancelled because a newer interaction superseded them.
+     *
+     * @return the number of discarded futures
+     */
+    public long discarded() {
+        return this.discarded.sum();
+    }
+
+    /**
+     * Returns whether the given {@code throwable} signals that the suggestions were superseded by a newer interaction.
+     *
+     * @param throwable throwable that the suggestion future completed with
+     * @return {@code true} if the suggestions were superseded, else {@code false}
+     */
+    public static boolean isSuperseded(final @Nullable Throwable throwable) {
+        if (throwable instanceof CompletionException) {
+            return throwable.getCause() instanceof CancellationException;
+        }
+        return throwable instanceof CancellationException;
+    }
+}
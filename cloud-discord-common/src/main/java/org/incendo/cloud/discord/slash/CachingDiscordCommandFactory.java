@@ -0,0 +1,173 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.internal.CommandNode;
+import org.incendo.cloud.suggestion.SuggestionProvider;
+
+/**
+ * {@link DiscordCommandFactory} that memoizes the commands created by another factory.
+ *
+ * <p>Commands are cached per node for the current {@link NodeProcessor#version() tree version}, so that every scope that
+ * contains the same root node shares the same {@link DiscordCommand} instance. Equal commands and options that are created
+ * for different root nodes are shared as well, so that identical subtrees only exist once per tree version. The cache is
+ * invalidated when the tree version changes, which means that {@link NodeProcessor#prepareTree()} must be invoked before
+ * the commands are created. Nothing is retained across tree versions, so superseded and removed commands can be
+ * collected.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public final class CachingDiscordCommandFactory<C> implements DiscordCommandFactory<C> {
+
+    private final Map<CommandNode<C>, DiscordCommand<C>> cache = new IdentityHashMap<>();
+    private final Map<DiscordCommand<C>, DiscordCommand<C>> sharedCommands = new HashMap<>();
+    private final Map<DiscordOption<C>, DiscordOption<C>> sharedOptions = new HashMap<>();
+    private final DiscordCommandFactory<C> delegate;
+    private final NodeProcessor<C> nodeProcessor;
+
+    private long cacheVersion = -1L;
+
+    /**
+     * Creates a new caching factory.
+     *
+     * @param delegate      factory that creates the commands
+     * @param nodeProcessor node processor that determines the tree version
+     */
+    public CachingDiscordCommandFactory(
+            final @NonNull DiscordCommandFactory<C> delegate,
+            final @NonNull NodeProcessor<C> nodeProcessor
+    ) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.nodeProcessor = Objects.requireNonNull(nodeProcessor, "nodeProcessor");
+    }
+
+    @Override
+    public @NonNull DiscordCommand<C> create(final @NonNull CommandNode<C> node) {
+        Objects.requireNonNull(node, "node");
+
+        final long version = this.nodeProcessor.version();
+        synchronized (this.cache) {
+            if (version != this.cacheVersion) {
+                this.clear();
+                this.cacheVersion = version;
+            }
+            final DiscordCommand<C> cachedCommand = this.cache.get(node);
+            if (cachedCommand != null) {
+                return cachedCommand;
+            }
+        }
+
+        final DiscordCommand<C> command = this.delegate.create(node);
+        synchronized (this.cache) {
+            if (version != this.cacheVersion) {
+                return command;
+            }
+            final DiscordCommand<C> cachedCommand = this.cache.get(node);
+            if (cachedCommand != null) {
+                return cachedCommand;
+            }
+            final DiscordCommand<C> sharedCommand = this.share(command);
+            this.cache.put(node, sharedCommand);
+            return sharedCommand;
+        }
+    }
+
+    @Override
+    public void suggestionRegistrationMapper(
+            final @NonNull Function<SuggestionProvider<C>, SuggestionProvider<C>> suggestionRegistrationMapper
+    ) {
+        this.delegate.suggestionRegistrationMapper(suggestionRegistrationMapper);
+        synchronized (this.cache) {
+            this.clear();
+        }
+    }
+
+    @Override
+    public @NonNull Function<SuggestionProvider<C>, SuggestionProvider<C>> suggestionRegistrationMapper() {
+        return this.delegate.suggestionRegistrationMapper();
+    }
+
+    /**
+     * Returns the number of distinct commands and options that are shared for the current tree version.
+     *
+     * @return the number of shared instances
+     */
+    int sharedInstances() {
+        synchronized (this.cache) {
+            return this.sharedCommands.size() + this.sharedOptions.size();
+        }
+    }
+
+    private void clear() {
+        this.cache.clear();
+        this.sharedCommands.clear();
+        this.sharedOptions.clear();
+    }
+
+    private @NonNull DiscordCommand<C> share(final @NonNull DiscordCommand<C> command) {
+        final List<DiscordOption<C>> options = this.shareOptions(command.options());
+        final DiscordCommand<C> candidate = options == command.options()
+                ? command
+                : ImmutableDiscordCommand.copyOf(command).withOptions(options);
+        return this.sharedCommands.computeIfAbsent(candidate, key -> key);
+    }
+
+    private @NonNull List<@NonNull DiscordOption<C>> shareOptions(final @NonNull List<@NonNull DiscordOption<C>> options) {
+        List<DiscordOption<C>> sharedOptions = null;
+        for (int i = 0; i < options.size(); i++) {
+            final DiscordOption<C> option = options.get(i);
+            final DiscordOption<C> sharedOption = this.shareOption(option);
+            if (sharedOption != option && sharedOptions == null) {
+                sharedOptions = new ArrayList<>(options.subList(0, i));
+            }
+            if (sharedOptions != null) {
+                sharedOptions.add(sharedOption);
+            }
+        }
+        return sharedOptions == null ? options : sharedOptions;
+    }
+
+    private @NonNull DiscordOption<C> shareOption(final @NonNull DiscordOption<C> option) {
+        DiscordOption<C> candidate = option;
+        if (option instanceof DiscordOption.SubCommand) {
+            final DiscordOption.SubCommand<C> subCommand = (DiscordOption.SubCommand<C>) option;
+            final List<DiscordOption<C>> options = this.shareOptions(subCommand.options());
+            if (options != subCommand.options()) {
+                candidate = ImmutableSubCommand.copyOf(subCommand).withOptions(options);
+            }
+        }
+        return this.sharedOptions.computeIfAbsent(candidate, key -> key);
+    }
+}
@@ -0,0 +1,115 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Index that looks up the choices whose names start with a given prefix, ignoring case.
+ *
+ * <p>The choices are sorted once by their lower-cased names. A lookup uses a binary search to find the first choice that
+ * matches the prefix, and then reads the matching choices in order. This keeps autocomplete for large static vocabularies
+ * cheap, as only the matching choices are visited.</p>
+ *
+ * @param <T> choice type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class ChoiceIndex<T> {
+
+    private final String[] keys;
+    private final List<DiscordOptionChoice<T>> choices;
+
+    private ChoiceIndex(final @NonNull Collection<@NonNull DiscordOptionChoice<T>> choices) {
+        final List<DiscordOptionChoice<T>> sorted = new ArrayList<>(choices);
+        sorted.sort(Comparator.comparing(choice -> choice.name().toLowerCase(Locale.ENGLISH)));
+        this.choices = Collections.unmodifiableList(sorted);
+        this.keys = new String[sorted.size()];
+        for (int i = 0; i < this.keys.length; i++) {
+            this.keys[i] = sorted.get(i).name().toLowerCase(Locale.ENGLISH);
+        }
+    }
+
+    /**
+     * Creates an index of the given {@code choices}.
+     *
+     * @param <T>     choice type
+     * @param choices choices to index
+     * @return the index
+     */
+    public static <T> @NonNull ChoiceIndex<T> of(final @NonNull Collection<@NonNull DiscordOptionChoice<T>> choices) {
+        return new ChoiceIndex<>(Objects.requireNonNull(choices, "choices"));
+    }
+
+    /**
+     * Returns the number of indexed choices.
+     *
+     * @return the number of choices
+     */
+    public int size() {
+        return this.keys.length;
+    }
+
+    /**
+     * Returns up to {@code limit} choices whose names start with the given {@code prefix}, ignoring case. The choices are
+     * returned in the order of their names.
+     *
+     * @param prefix prefix to match
+     * @param limit  maximum number of choices to return
+     * @return the matching choices
+     */
+    public @NonNull List<@NonNull DiscordOptionChoice<T>> matching(final @NonNull String prefix, final int limit) {
+        final String key = prefix.toLowerCase(Locale.ENGLISH);
+        final List<DiscordOptionChoice<T>> matches = new ArrayList<>(Math.max(0, Math.min(limit, this.keys.length)));
+        for (int i = this.lowerBound(key); i < this.keys.length && matches.size() < limit; i++) {
+            if (!this.keys[i].startsWith(key)) {
+                break;
+            }
+            matches.add(this.choices.get(i));
+        }
+        return matches;
+    }
+
+    private int lowerBound(final @NonNull String key) {
+        int low = 0;
+        int high = this.keys.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (this.keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,183 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.common.returnsreceiver.qual.This;
+import org.incendo.cloud.type.range.Range;
+
+/**
+ * Computes a canonical content hash of a set of generated commands.
+ *
+ * <p>Two command sets that would result in the same payload being sent to Discord produce the same hash, which
+ * means that the hash can be compared against the hash of the last registration to determine whether the commands
+ * have to be pushed again. The hash is stable across restarts.</p>
+ *
+ * <p>A hasher instance may only be used to compute a single hash.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public final class CommandHasher {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[Long.BYTES];
+
+    private CommandHasher() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256, so this should never happen.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns a new hasher.
+     *
+     * @return the hasher
+     */
+    public static @NonNull CommandHasher commandHasher() {
+        return new CommandHasher();
+    }
+
+    /**
+     * Adds the given {@code command} to the hash.
+     *
+     * @param command command to add
+     * @return {@code this}
+     */
+    public @This @NonNull CommandHasher putCommand(final @NonNull DiscordCommand<?> command) {
+        this.putString(command.name())
+                .putString(command.description())
+                .putOptions(command.options());
+        return this;
+    }
+
+    /**
+     * Adds the given {@code string} to the hash.
+     *
+     * @param string string to add
+     * @return {@code this}
+     */
+    public @This @NonNull CommandHasher putString(final @NonNull String string) {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        this.putInt(bytes.length);
+        this.digest.update(bytes);
+        return this;
+    }
+
+    /**
+     * Adds the given {@code value} to the hash.
+     *
+     * @param value value to add
+     * @return {@code this}
+     */
+    public @This @NonNull CommandHasher putLong(final long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            this.buffer[i] = (byte) (value >>> (Long.SIZE - Byte.SIZE * (i + 1)));
+        }
+        this.digest.update(this.buffer, 0, Long.BYTES);
+        return this;
+    }
+
+    /**
+     * Adds the given {@code value} to the hash.
+     *
+     * @param value value to add
+     * @return {@code this}
+     */
+    public @This @NonNull CommandHasher putInt(final int value) {
+        for (int i = 0; i < Integer.BYTES; i++) {
+            this.buffer[i] = (byte) (value >>> (Integer.SIZE - Byte.SIZE * (i + 1)));
+        }
+        this.digest.update(this.buffer, 0, Integer.BYTES);
+        return this;
+    }
+
+    /**
+     * Adds the given {@code value} to the hash.
+     *
+     * @param value value to add
+     * @return {@code this}
+     */
+    public @This @NonNull CommandHasher putBoolean(final boolean value) {
+        this.digest.update(value ? (byte) 1 : (byte) 0);
+        return this;
+    }
+
+    /**
+     * Completes the hash computation and returns the hash as a hexadecimal string.
+     *
+     * @return the hash
+     */
+    public @NonNull String hash() {
+        final byte[] hash = this.digest.digest();
+        final char[] chars = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private @This @NonNull CommandHasher putOptions(final @NonNull List<? extends DiscordOption<?>> options) {
+        this.putInt(options.size());
+        for (final DiscordOption<?> option : options) {
+            this.putOption(option);
+        }
+        return this;
+    }
+
+    private void putOption(final @NonNull DiscordOption<?> option) {
+        this.putInt(option.type().value())
+                .putString(option.name())
+                .putString(option.description());
+
+        if (option instanceof DiscordOption.SubCommand) {
+            this.putOptions(((DiscordOption.SubCommand<?>) option).options());
+        } else if (option instanceof DiscordOption.Variable) {
+            final DiscordOption.Variable<?> variable = (DiscordOption.Variable<?>) option;
+            this.putBoolean(variable.required()).putBoolean(variable.autocomplete());
+
+            this.putInt(variable.choices().size());
+            for (final DiscordOptionChoice<?> choice : variable.choices()) {
+                this.putString(choice.name()).putString(choice.value().toString());
+            }
+
+            final Range<?> range = variable.range();
+            this.putBoolean(range != null);
+            if (range != null) {
+                this.putString(range.min().toString()).putString(range.max().toString());
+            }
+        }
+    }
+}
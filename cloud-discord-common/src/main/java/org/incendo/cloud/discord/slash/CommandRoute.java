@@ -0,0 +1,84 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.List;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.immutables.value.Value;
+import org.incendo.cloud.discord.immutables.ImmutableImpl;
+import org.incendo.cloud.internal.CommandNode;
+
+/**
+ * A route from a full slash command path to the node that the path resolves to.
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@ImmutableImpl
+@Value.Immutable
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public interface CommandRoute<C> {
+
+    /**
+     * Creates a new route.
+     *
+     * @param <C>             command sender type
+     * @param node            the node that the path resolves to
+     * @param arguments       the names of the arguments, in the order that they are parsed
+     * @param hasTypedOptions whether any of the arguments uses a {@link TypedOptionParser}
+     * @return the route
+     */
+    static <C> @NonNull CommandRoute<C> of(
+            final @NonNull CommandNode<C> node,
+            final @NonNull List<@NonNull String> arguments,
+            final boolean hasTypedOptions
+    ) {
+        return CommandRouteImpl.of(node, arguments, hasTypedOptions);
+    }
+
+    /**
+     * Returns the node that the path resolves to. This is the node of the last literal in the path.
+     *
+     * @return the node
+     */
+    @NonNull CommandNode<C> node();
+
+    /**
+     * Returns the names of the arguments that follow the {@link #node()}, in the order that they are parsed.
+     *
+     * @return the argument names
+     */
+    @NonNull List<@NonNull String> arguments();
+
+    /**
+     * Returns whether any of the {@link #arguments()} uses a {@link TypedOptionParser}.
+     *
+     * <p>The platform listeners only collect the {@link TypedOptionValues} of an interaction if this is the case, as
+     * the values would not be used otherwise.</p>
+     *
+     * @return {@code true} if the typed option values should be collected, else {@code false}
+     */
+    boolean hasTypedOptions();
+}
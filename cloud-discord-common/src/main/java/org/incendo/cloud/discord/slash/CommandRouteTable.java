@@ -0,0 +1,137 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.component.CommandComponent;
+import org.incendo.cloud.internal.CommandNode;
+import org.incendo.cloud.parser.aggregate.AggregateParser;
+
+/**
+ * Table that maps full slash command paths, such as {@code "root group sub"}, to the {@link CommandRoute} they resolve to.
+ *
+ * <p>Discord tells us the exact path of the invoked command, so there's no need to search the command tree for it. The
+ * table is rebuilt lazily when the {@link DiscordRegistrationHandler#version()} changes.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public final class CommandRouteTable<C> {
+
+    private final CommandTree<C> commandTree;
+    private final DiscordRegistrationHandler<C> registrationHandler;
+
+    private volatile Map<String, CommandRoute<C>> routes = Collections.emptyMap();
+    private volatile long version = -1L;
+
+    /**
+     * Creates a new route table.
+     *
+     * @param commandTree         command tree
+     * @param registrationHandler registration handler that keeps track of the tree version
+     */
+    public CommandRouteTable(
+            final @NonNull CommandTree<C> commandTree,
+            final @NonNull DiscordRegistrationHandler<C> registrationHandler
+    ) {
+        this.commandTree = Objects.requireNonNull(commandTree, "commandTree");
+        this.registrationHandler = Objects.requireNonNull(registrationHandler, "registrationHandler");
+    }
+
+    /**
+     * Returns the route for the given full command {@code path}, if it exists.
+     *
+     * @param path full command path, with the literals separated by a single space
+     * @return the route, or {@code null}
+     */
+    public @Nullable CommandRoute<C> route(final @NonNull String path) {
+        return this.routes().get(path);
+    }
+
+    private @NonNull Map<String, CommandRoute<C>> routes() {
+        if (this.version != this.registrationHandler.version()) {
+            synchronized (this) {
+                final long version = this.registrationHandler.version();
+                if (this.version != version) {
+                    final Map<String, CommandRoute<C>> routes = new HashMap<>();
+                    for (final CommandNode<C> rootNode : this.commandTree.rootNodes()) {
+                        this.collectRoutes(rootNode, rootNode.component().name(), routes);
+                    }
+                    this.routes = Collections.unmodifiableMap(routes);
+                    this.version = version;
+                }
+            }
+        }
+        return this.routes;
+    }
+
+    private void collectRoutes(
+            final @NonNull CommandNode<C> node,
+            final @NonNull String path,
+            final @NonNull Map<String, CommandRoute<C>> routes
+    ) {
+        final List<String> arguments = new ArrayList<>();
+        CommandNode<C> argumentNode = null;
+        for (final CommandNode<C> child : node.children()) {
+            if (child.component() == null) {
+                continue;
+            }
+            if (child.component().type() == CommandComponent.ComponentType.LITERAL) {
+                this.collectRoutes(child, path + ' ' + child.component().name(), routes);
+            } else if (argumentNode == null) {
+                argumentNode = child;
+            }
+        }
+
+        // Slash commands only support a single chain of arguments below the last literal.
+        boolean hasTypedOptions = false;
+        while (argumentNode != null) {
+            final CommandComponent<C> component = argumentNode.component();
+            if (component.parser() instanceof AggregateParser) {
+                for (final CommandComponent<C> innerComponent : ((AggregateParser<C, ?>) component.parser()).components()) {
+                    arguments.add(innerComponent.name());
+                    hasTypedOptions |= innerComponent.parser() instanceof TypedOptionParser;
+                }
+            } else {
+                arguments.add(component.name());
+                hasTypedOptions |= component.parser() instanceof TypedOptionParser;
+            }
+            argumentNode = argumentNode.children().isEmpty() ? null : argumentNode.children().get(0);
+        }
+
+        if (node.command() != null || !arguments.isEmpty()) {
+            routes.put(path, CommandRoute.of(node, Collections.unmodifiableList(arguments), hasTypedOptions));
+        }
+    }
+}
@@ -24,11 +24,10 @@
 package org.incendo.cloud.discord.slash;
 
 import io.leangen.geantyref.TypeToken;
+import java.util.AbstractSet;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.Command;
@@ -62,7 +61,7 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
      * @return guild scope
      */
     static <C> @NonNull CommandScope<C> guilds(final long @NonNull... guilds) {
-        return new Guilds<>(guilds);
+        return Guilds.of(guilds);
     }
 
     /**
@@ -72,7 +71,7 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
      * @return guild scope
      */
     static <C> @NonNull CommandScope<C> guilds() {
-        return new Guilds<>(-1);
+        return Guilds.of(-1);
     }
 
     /**
@@ -111,24 +110,37 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
     /**
      * Makes the command available in specific guilds.
      *
+     * <p>The guild IDs are stored in a sorted primitive array, which means that lookups are done using binary search and
+     * that unions and overlap checks are done by merging the arrays.</p>
+     *
      * @param <C> command sender type
      * @since 1.0.0
      */
     @API(status = API.Status.STABLE, since = "1.0.0")
     final class Guilds<C> implements CommandScope<C> {
 
-        private final Set<Long> guilds;
+        /**
+         * Sorted array of distinct guild IDs.
+         */
+        private final long[] guilds;
+        private final Set<Long> guildsView;
 
-        private Guilds(final @NonNull Set<@NonNull Long> guilds) {
-            this.guilds = Collections.unmodifiableSet(guilds);
+        private Guilds(final long @NonNull[] sortedGuilds) {
+            this.guilds = sortedGuilds;
+            this.guildsView = new GuildSet(sortedGuilds);
         }
 
-        private Guilds(final long @NonNull... guilds) {
-            this(Arrays.stream(guilds).boxed().collect(Collectors.toSet()));
-        }
+        private static <C> @NonNull Guilds<C> of(final long @NonNull... guilds) {
+            final long[] sortedGuilds = guilds.clone();
+            Arrays.sort(sortedGuilds);
 
-        private Guilds(final long guildId) {
-            this.guilds = Collections.singleton(guildId);
+            int size = 0;
+            for (int i = 0; i < sortedGuilds.length; i++) {
+                if (size == 0 || sortedGuilds[size - 1] != sortedGuilds[i]) {
+                    sortedGuilds[size++] = sortedGuilds[i];
+                }
+            }
+            return new Guilds<>(size == sortedGuilds.length ? sortedGuilds : Arrays.copyOf(sortedGuilds, size));
         }
 
         /**
@@ -137,9 +149,39 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
          * @return the guilds
          */
         public @NonNull Set<@NonNull Long> guilds() {
+            return this.guildsView;
+        }
+
+        /**
+         * Returns a sorted array containing the guild IDs.
+         *
+         * @return the guild IDs
+         */
+        public long @NonNull[] guildIds() {
+            return this.guilds.clone();
+        }
+
+        /**
+         * Returns the sorted backing array of guild IDs without copying it.
+         *
+         * <p>The returned array must not be modified.</p>
+         *
+         * @return the guild IDs
+         */
+        long @NonNull[] sortedGuildIds() {
             return this.guilds;
         }
 
+        /**
+         * Returns whether the scope contains the given {@code guildId}.
+         *
+         * @param guildId guild ID
+         * @return {@code true} if the guild is part of the scope, else {@code false}
+         */
+        public boolean contains(final long guildId) {
+            return Arrays.binarySearch(this.guilds, guildId) >= 0;
+        }
+
         /**
          * Returns a new {@link Guilds} instance with the given {@code guildId} added.
          *
@@ -147,8 +189,15 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
          * @return the new instance
          */
         public @NonNull Guilds<C> withGuild(final long guildId) {
-            final Set<Long> guilds = new HashSet<>(this.guilds);
-            guilds.add(guildId);
+            final int index = Arrays.binarySearch(this.guilds, guildId);
+            if (index >= 0) {
+                return this;
+            }
+            final int insertionPoint = -(index + 1);
+            final long[] guilds = new long[this.guilds.length + 1];
+            System.arraycopy(this.guilds, 0, guilds, 0, insertionPoint);
+            guilds[insertionPoint] = guildId;
+            System.arraycopy(this.guilds, insertionPoint, guilds, insertionPoint + 1, this.guilds.length - insertionPoint);
             return new Guilds<>(guilds);
         }
 
@@ -159,9 +208,49 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
          * @return the new instance
          */
         public @NonNull Guilds<C> withGuild(final Set<@NonNull Long> guilds) {
-            final Set<Long> newGuilds = new HashSet<>(this.guilds);
-            newGuilds.addAll(guilds);
-            return new Guilds<>(newGuilds);
+            if (guilds instanceof GuildSet) {
+                return this.withGuilds(((GuildSet) guilds).guilds);
+            }
+            return this.withGuilds(Guilds.<C>of(guilds.stream().mapToLong(Long::longValue).toArray()).guilds);
+        }
+
+        /**
+         * Returns a new {@link Guilds} instance containing the guilds of both {@code this} scope and the given {@code scope}.
+         *
+         * @param scope scope to merge with
+         * @return the new instance
+         */
+        public @NonNull Guilds<C> withGuilds(final @NonNull Guilds<C> scope) {
+            return this.withGuilds(scope.guilds);
+        }
+
+        private @NonNull Guilds<C> withGuilds(final long @NonNull[] other) {
+            final long[] guilds = new long[this.guilds.length + other.length];
+            int i = 0;
+            int j = 0;
+            int size = 0;
+            while (i < this.guilds.length && j < other.length) {
+                if (this.guilds[i] < other[j]) {
+                    guilds[size++] = this.guilds[i++];
+                } else if (this.guilds[i] > other[j]) {
+                    guilds[size++] = other[j++];
+                } else {
+                    guilds[size++] = this.guilds[i++];
+                    j++;
+                }
+            }
+            while (i < this.guilds.length) {
+                guilds[size++] = this.guilds[i++];
+            }
+            while (j < other.length) {
+                guilds[size++] = other[j++];
+            }
+
+            // Avoid allocating a new instance if nothing was added.
+            if (size == this.guilds.length) {
+                return this;
+            }
+            return new Guilds<>(size == guilds.length ? guilds : Arrays.copyOf(guilds, size));
         }
 
         @Override
@@ -169,15 +258,53 @@ public interface CommandScope<C> extends Command.Builder.Applicable<C> {
             if (!(scope instanceof Guilds)) {
                 return false;
             }
-            final Guilds<C> guilds = (Guilds<C>) scope;
-            return this.guilds.stream().anyMatch(guildId -> guilds.guilds().contains(guildId));
+            final long[] other = ((Guilds<C>) scope).guilds;
+            int i = 0;
+            int j = 0;
+            while (i < this.guilds.length && j < other.length) {
+                if (this.guilds[i] < other[j]) {
+                    i++;
+                } else if (this.guilds[i] > other[j]) {
+                    j++;
+                } else {
+                    return true;
+                }
+            }
+            return false;
         }
 
         @Override
         public @NonNull String toString() {
             return "Guilds{"
-                    + "guilds=" + this.guilds
+                    + "guilds=" + Arrays.toString(this.guilds)
                     + '}';
         }
+
+        /**
+         * Unmodifiable {@link Set} view of a sorted guild array.
+         */
+        private static final class GuildSet extends AbstractSet<Long> {
+
+            private final long[] guilds;
+
+            private GuildSet(final long @NonNull[] guilds) {
+                this.guilds = guilds;
+            }
+
+            @Override
+            public boolean contains(final Object object) {
+                return object instanceof Long && Arrays.binarySearch(this.guilds, (Long) object) >= 0;
+            }
+
+            @Override
+            public @NonNull Iterator<@NonNull Long> iterator() {
+                return Arrays.stream(this.guilds).iterator();
+            }
+
+            @Override
+            public int size() {
+                return this.guilds.length;
+            }
+        }
     }
 }
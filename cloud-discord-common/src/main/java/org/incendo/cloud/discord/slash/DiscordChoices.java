@@ -23,6 +23,7 @@
 //
 package org.incendo.cloud.discord.slash;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.stream.Collectors;
@@ -30,7 +31,10 @@ import java.util.stream.StreamSupport;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.immutables.value.Value;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
 import org.incendo.cloud.discord.immutables.ImmutableImpl;
+import org.incendo.cloud.suggestion.Suggestion;
 
 @ImmutableImpl
 @Value.Immutable
@@ -155,4 +159,31 @@ public interface DiscordChoices<C, T> extends DiscordChoiceProvider<C, T> {
 
     @Override
     @NonNull Collection<@NonNull DiscordOptionChoice<T>> choices();
+
+    /**
+     * Returns the prefix index of the {@link #choices()}. The index is built once, the first time that it is requested.
+     *
+     * @return the choice index
+     */
+    @Value.Lazy
+    default @NonNull ChoiceIndex<T> index() {
+        return ChoiceIndex.of(this.choices());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Discord does not accept more than {@link SuggestionSelector#MAX_CHOICES} static choices, so larger sets of choices
+     * are offered through autocomplete instead. The suggestions are then looked up in the {@link #index()}.</p>
+     */
+    @Override
+    default @NonNull Iterable<@NonNull Suggestion> suggestions(
+            final @NonNull CommandContext<C> context,
+            final @NonNull CommandInput input
+    ) {
+        if (this.choices().size() <= SuggestionSelector.MAX_CHOICES) {
+            return new ArrayList<>(this.choices());
+        }
+        return new ArrayList<>(this.index().matching(input.remainingInput(), SuggestionSelector.limit(context)));
+    }
 }
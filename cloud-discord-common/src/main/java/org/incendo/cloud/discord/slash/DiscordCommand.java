@@ -36,7 +36,7 @@ import org.incendo.cloud.discord.immutables.StagedImmutableBuilder;
  * @since 1.0.0
  */
 @StagedImmutableBuilder
-@Value.Immutable
+@Value.Immutable(prehash = true)
 @API(status = API.Status.STABLE, since = "1.0.0")
 public interface DiscordCommand<C> extends Named {
 
@@ -77,7 +77,7 @@ public interface DiscordOption<C> extends Named {
 
     @SuppressWarnings("immutables:subtype")
     @StagedImmutableBuilder
-    @Value.Immutable
+    @Value.Immutable(prehash = true)
     interface SubCommand<C> extends DiscordOption<C> {
 
         @Value.Derived
@@ -99,7 +99,7 @@ public interface DiscordOption<C> extends Named {
 
     @SuppressWarnings("immutables:subtype")
     @StagedImmutableBuilder
-    @Value.Immutable
+    @Value.Immutable(prehash = true)
     interface Variable<C> extends DiscordOption<C> {
 
         /**
@@ -52,6 +52,21 @@ public interface DiscordOptionChoice<T> extends Named, Suggestion {
         return DiscordOptionChoiceImpl.of(name, value);
     }
 
+    /**
+     * Returns the value that Discord should receive when the given {@code suggestion} is selected by the user.
+     *
+     * <p>This is the {@link #value()} of option choices, and the suggestion string of any other suggestion.</p>
+     *
+     * @param suggestion the suggestion
+     * @return the choice value
+     */
+    static @NonNull Object choiceValue(final @NonNull Suggestion suggestion) {
+        if (suggestion instanceof DiscordOptionChoice) {
+            return ((DiscordOptionChoice<?>) suggestion).value();
+        }
+        return suggestion.suggestion();
+    }
+
     /**
      * Returns the choice name.
      *
@@ -74,6 +89,6 @@ public interface DiscordOptionChoice<T> extends Named, Suggestion {
 
     @Override
     default @NonNull DiscordOptionChoice<T> withSuggestion(final @NonNull String suggestion) {
-        return DiscordOptionChoiceImpl.copyOf(this).withSuggestion(suggestion);
+        return DiscordOptionChoiceImpl.of(suggestion, this.value());
     }
 }
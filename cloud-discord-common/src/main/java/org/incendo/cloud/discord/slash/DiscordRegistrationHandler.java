@@ -0,0 +1,124 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.component.CommandComponent;
+import org.incendo.cloud.internal.CommandRegistrationHandler;
+
+/**
+ * Registration handler that keeps track of changes to the command tree.
+ *
+ * <p>Slash commands are pushed to Discord separately from the Cloud registration, so the handler does not register
+ * anything itself. It only bumps the {@link #version()} every time a command is registered or a root command is removed,
+ * and remembers which root commands were affected. This lets the {@link NodeProcessor} only process the root commands that
+ * changed, and lets the command factories know when their generated commands are out of date.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public final class DiscordRegistrationHandler<C> implements CommandRegistrationHandler<C> {
+
+    private final Map<String, Long> rootVersions = new HashMap<>();
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+
+    private volatile long version;
+
+    /**
+     * Creates a new registration handler.
+     */
+    public DiscordRegistrationHandler() {
+    }
+
+    @Override
+    public boolean registerCommand(final @NonNull Command<C> command) {
+        this.markChanged(command.rootComponent().name());
+        return true;
+    }
+
+    @Override
+    public void unregisterRootCommand(final @NonNull CommandComponent<C> rootCommand) {
+        this.markChanged(rootCommand.name());
+    }
+
+    /**
+     * Returns the current version of the command tree.
+     *
+     * <p>The version increases every time the command tree changes.</p>
+     *
+     * @return the tree version
+     */
+    public long version() {
+        return this.version;
+    }
+
+    /**
+     * Returns the names of the root commands that have changed after the given {@code version}.
+     *
+     * @param version version to compare against
+     * @return the changed root commands
+     */
+    public synchronized @NonNull Collection<@NonNull String> changedRoots(final long version) {
+        final List<String> changedRoots = new ArrayList<>();
+        for (final Map.Entry<String, Long> entry : this.rootVersions.entrySet()) {
+            if (entry.getValue() > version) {
+                changedRoots.add(entry.getKey());
+            }
+        }
+        return changedRoots;
+    }
+
+    /**
+     * Adds a listener that is invoked with the name of the affected root command every time the command tree changes.
+     *
+     * <p>The listener is invoked on the thread that modified the command tree.</p>
+     *
+     * @param listener the listener
+     */
+    public void addChangeListener(final @NonNull Consumer<@NonNull String> listener) {
+        this.changeListeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    private void markChanged(final @NonNull String rootName) {
+        synchronized (this) {
+            final long version = this.version + 1;
+            this.rootVersions.put(rootName, version);
+            this.version = version;
+        }
+        for (final Consumer<String> listener : this.changeListeners) {
+            listener.accept(rootName);
+        }
+    }
+}
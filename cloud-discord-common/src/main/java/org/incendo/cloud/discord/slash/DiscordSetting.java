@@ -37,6 +37,13 @@ public enum DiscordSetting implements Setting {
      * Whether slash commands should be registered automatically.
      */
     AUTO_REGISTER_SLASH_COMMANDS,
+    /**
+     * Whether slash commands should be registered again when the command tree changes after the initial registration.
+     *
+     * <p>Changes are collected until no changes have been made for the duration of the re-registration window, after which
+     * a single registration is made per affected scope. This requires {@link #AUTO_REGISTER_SLASH_COMMANDS}.</p>
+     */
+    REGISTER_ON_CHANGE,
     /**
      * Whether error messages should be ephemeral.
      */
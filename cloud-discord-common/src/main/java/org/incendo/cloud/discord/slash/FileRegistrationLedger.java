@@ -0,0 +1,178 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ledger that is persisted to an append-only log.
+ *
+ * <p>Every line in the log contains the scope, the hash and the timestamp (in epoch milliseconds) of a registration. Later
+ * lines override earlier lines for the same scope. Lines that cannot be parsed, such as a line that was only partially
+ * written, are ignored.</p>
+ *
+ * <p>Persisting the log is best effort. If a write fails, then the failure is logged and the registration is only
+ * recorded in memory.</p>
+ *
+ * <p>The log is kept open between records, and every record is flushed to the file. The log is closed by {@link #close()},
+ * and is opened again if another registration is recorded afterwards.</p>
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class FileRegistrationLedger implements RegistrationLedger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileRegistrationLedger.class);
+
+    /**
+     * The log is not compacted before it contains at least this many entries.
+     */
+    private static final int MINIMUM_COMPACTION_SIZE = 64;
+
+    private final Map<Long, RegistrationRecord> registrations = new ConcurrentHashMap<>();
+    private final Path path;
+
+    private @Nullable BufferedWriter writer;
+    private int logEntries;
+
+    FileRegistrationLedger(final @NonNull Path path) throws IOException {
+        this.path = path;
+
+        if (!Files.exists(path)) {
+            return;
+        }
+        for (final String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            this.logEntries++;
+            this.load(line);
+        }
+    }
+
+    @Override
+    public @Nullable RegistrationRecord lastRegistration(final long scope) {
+        return this.registrations.get(scope);
+    }
+
+    @Override
+    public synchronized void record(final long scope, final @NonNull String hash) {
+        Objects.requireNonNull(hash, "hash");
+        final RegistrationRecord registration = RegistrationRecord.of(hash, Instant.now());
+        this.registrations.put(scope, registration);
+
+        try {
+            if (this.logEntries >= MINIMUM_COMPACTION_SIZE && this.logEntries >= this.registrations.size() * 2) {
+                this.compact();
+            } else {
+                this.append(scope, registration);
+            }
+        } catch (final IOException e) {
+            // The ledger only exists to skip redundant registrations, so a failed write must not fail the registration.
+            LOGGER.warn("Failed to persist the registration of scope {} to the ledger at {}", scope, this.path, e);
+            this.closeWriter();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        this.closeWriter();
+    }
+
+    private void load(final @NonNull String line) {
+        final String[] parts = line.split(" ");
+        if (parts.length != 3) {
+            return;
+        }
+        try {
+            final long scope = Long.parseLong(parts[0]);
+            final Instant timestamp = Instant.ofEpochMilli(Long.parseLong(parts[2]));
+            this.registrations.put(scope, RegistrationRecord.of(parts[1], timestamp));
+        } catch (final NumberFormatException ignored) {
+            // The line is corrupted, most likely because it was only partially written.
+        }
+    }
+
+    private void append(final long scope, final @NonNull RegistrationRecord registration) throws IOException {
+        if (this.writer == null) {
+            this.writer = Files.newBufferedWriter(
+                    this.path,
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND
+            );
+        }
+        this.write(this.writer, scope, registration);
+        this.writer.flush();
+        this.logEntries++;
+    }
+
+    private void compact() throws IOException {
+        // The compacted log replaces the file, so the writer of the old file is closed and opened again on the next append.
+        this.closeWriter();
+        final Path temporaryPath = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+            for (final Map.Entry<Long, RegistrationRecord> entry : this.registrations.entrySet()) {
+                this.write(writer, entry.getKey(), entry.getValue());
+            }
+        }
+        Files.move(temporaryPath, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.logEntries = this.registrations.size();
+    }
+
+    private void closeWriter() {
+        if (this.writer == null) {
+            return;
+        }
+        try {
+            this.writer.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to close the ledger at {}", this.path, e);
+        }
+        this.writer = null;
+    }
+
+    private void write(
+            final @NonNull BufferedWriter writer,
+            final long scope,
+            final @NonNull RegistrationRecord registration
+    ) throws IOException {
+        writer.write(Long.toString(scope));
+        writer.write(' ');
+        writer.write(registration.hash());
+        writer.write(' ');
+        writer.write(Long.toString(registration.timestamp().toEpochMilli()));
+        writer.newLine();
+    }
+}
@@ -0,0 +1,56 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.Suggestions;
+
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class FirstSuggestionSelector implements SuggestionSelector {
+
+    static final FirstSuggestionSelector INSTANCE = new FirstSuggestionSelector();
+
+    private FirstSuggestionSelector() {
+    }
+
+    @Override
+    public @NonNull List<@NonNull Suggestion> select(final @NonNull Suggestions<?, ?> suggestions, final int limit) {
+        final List<? extends Suggestion> list = suggestions.list();
+        final List<Suggestion> selected = new ArrayList<>(Math.max(0, Math.min(limit, list.size())));
+        for (final Suggestion suggestion : list) {
+            if (selected.size() >= limit) {
+                break;
+            }
+            final Suggestion trimmed = SuggestionSelector.trim(suggestion, suggestions);
+            if (trimmed != null) {
+                selected.add(trimmed);
+            }
+        }
+        return selected;
+    }
+}
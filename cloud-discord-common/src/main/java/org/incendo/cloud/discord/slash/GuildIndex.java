@@ -0,0 +1,152 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Index of the guilds that have {@link CommandScope.Guilds guild-scoped} commands.
+ *
+ * <p>The index is used to skip guild command registrations for guilds that would not receive any commands.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class GuildIndex {
+
+    private static final GuildIndex ALL_GUILDS = new GuildIndex(true, Collections.emptySet());
+    private static final GuildIndex EMPTY = new GuildIndex(false, Collections.emptySet());
+
+    private final boolean allGuilds;
+    private final Set<Long> guilds;
+
+    private GuildIndex(final boolean allGuilds, final @NonNull Set<@NonNull Long> guilds) {
+        this.allGuilds = allGuilds;
+        this.guilds = guilds;
+    }
+
+    /**
+     * Returns an index that indicates that every guild may have guild-scoped commands.
+     *
+     * <p>This should be used by implementations that are unable to determine the scoped guilds.</p>
+     *
+     * @return the index
+     */
+    public static @NonNull GuildIndex allGuilds() {
+        return ALL_GUILDS;
+    }
+
+    /**
+     * Returns an index that indicates that no guild has any guild-scoped commands.
+     *
+     * @return the index
+     */
+    public static @NonNull GuildIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns an index of the guilds that overlap with the given {@code scopes}.
+     *
+     * @param <C>    command sender type
+     * @param scopes scopes to index
+     * @return the index
+     */
+    public static <C> @NonNull GuildIndex of(final @NonNull Iterable<@NonNull CommandScope<C>> scopes) {
+        Objects.requireNonNull(scopes, "scopes");
+        final Set<Long> guilds = new HashSet<>();
+        for (final CommandScope<C> scope : scopes) {
+            if (!(scope instanceof CommandScope.Guilds)) {
+                continue;
+            }
+            final CommandScope.Guilds<C> guildScope = (CommandScope.Guilds<C>) scope;
+            if (guildScope.contains(-1L)) {
+                return ALL_GUILDS;
+            }
+            guilds.addAll(guildScope.guilds());
+        }
+        if (guilds.isEmpty()) {
+            return EMPTY;
+        }
+        return new GuildIndex(false, Collections.unmodifiableSet(guilds));
+    }
+
+    /**
+     * Returns whether the commands are active in all guilds.
+     *
+     * @return {@code true} if all guilds have guild-scoped commands, else {@code false}
+     */
+    public boolean isAllGuilds() {
+        return this.allGuilds;
+    }
+
+    /**
+     * Returns an unmodifiable view of the guilds that have guild-scoped commands.
+     *
+     * <p>This is empty if {@link #isAllGuilds()} is {@code true}.</p>
+     *
+     * @return the guilds
+     */
+    public @NonNull Set<@NonNull Long> guilds() {
+        return this.guilds;
+    }
+
+    /**
+     * Returns whether the guild with the given {@code guildId} may have any guild-scoped commands.
+     *
+     * @param guildId guild id
+     * @return {@code true} if the guild may have guild-scoped commands, else {@code false}
+     */
+    public boolean hasCommands(final long guildId) {
+        return this.allGuilds || this.guilds.contains(guildId);
+    }
+
+    /**
+     * Returns whether the guild commands of the guild with the given {@code guildId} have to be registered.
+     *
+     * <p>A guild has to be registered if it may have guild-scoped commands, or if the {@code ledger} knows that it has
+     * received commands before, as those commands may have to be removed. A guild that has never received any commands
+     * and that has no guild-scoped commands has nothing to overwrite, so its registration is skipped.</p>
+     *
+     * @param guildId guild id
+     * @param ledger  ledger that keeps track of the previous registrations
+     * @return {@code true} if the guild commands should be registered, else {@code false}
+     */
+    public boolean shouldRegister(final long guildId, final @NonNull RegistrationLedger ledger) {
+        return this.hasCommands(guildId) || ledger.lastRegistration(guildId) != null;
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return "GuildIndex{"
+                + "allGuilds=" + this.allGuilds
+                + ", guilds=" + this.guilds
+                + '}';
+    }
+}
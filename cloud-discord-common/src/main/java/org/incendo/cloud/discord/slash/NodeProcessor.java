@@ -24,8 +24,7 @@
 package org.incendo.cloud.discord.slash;
 
 import io.leangen.geantyref.TypeToken;
-import java.util.Collections;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import org.apiguardian.api.API;
@@ -38,6 +37,9 @@ import org.incendo.cloud.key.CloudKey;
 /**
  * Processes {@link CommandNode nodes} and prepares them for mapping to Discord commands.
  *
+ * <p>If the processor is created with a {@link DiscordRegistrationHandler}, then only the root commands that changed since
+ * the last invocation of {@link #prepareTree()} are processed. Otherwise the entire tree is processed every time.</p>
+ *
  * @param <C> command sender type
  * @since 1.0.0
  */
@@ -47,69 +49,181 @@ public final class NodeProcessor<C> {
     public static final CloudKey<CommandScope<?>> NODE_META_SCOPE = CloudKey.of("scope", new TypeToken<CommandScope<?>>() {});
 
     private final CommandTree<C> commandTree;
+    private final @Nullable DiscordRegistrationHandler<C> registrationHandler;
+    private final RootNodeIndex<C> rootNodeIndex = new RootNodeIndex<>();
+
+    private volatile GuildIndex guildIndex = GuildIndex.empty();
+    private volatile long version = -1L;
 
     /**
-     * Creates a new node processor.
+     * Creates a new node processor that processes the entire tree every time {@link #prepareTree()} is invoked.
      *
      * @param commandTree tree that should be processed
      */
     public NodeProcessor(final @NonNull CommandTree<C> commandTree) {
         this.commandTree = Objects.requireNonNull(commandTree, "commandTree");
+        this.registrationHandler = null;
+    }
+
+    /**
+     * Creates a new node processor that only processes the root commands that changed according to the given
+     * {@code registrationHandler}.
+     *
+     * @param commandTree         tree that should be processed
+     * @param registrationHandler registration handler that tracks changes to the tree
+     */
+    public NodeProcessor(
+            final @NonNull CommandTree<C> commandTree,
+            final @NonNull DiscordRegistrationHandler<C> registrationHandler
+    ) {
+        this.commandTree = Objects.requireNonNull(commandTree, "commandTree");
+        this.registrationHandler = Objects.requireNonNull(registrationHandler, "registrationHandler");
     }
 
     /**
      * Prepares the command tree.
      */
     public void prepareTree() {
-        this.commandTree.getLeavesRaw(this.commandTree.rootNode()).forEach(this::propagateRequirements);
-    }
+        if (this.registrationHandler == null) {
+            synchronized (this) {
+                final RootNodeIndex<C>.Batch batch = this.rootNodeIndex.rebuild();
+                for (final CommandNode<C> rootNode : this.commandTree.rootNodes()) {
+                    batch.update(rootNode.component().name(), rootNode, this.processNode(rootNode));
+                }
+                batch.publish();
+                this.guildIndex = this.indexGuilds();
+                this.version = this.version + 1;
+            }
+            return;
+        }
 
-    @SuppressWarnings("unchecked")
-    private void propagateRequirements(final @NonNull CommandNode<C> leafNode) {
-        CommandScope<C> parentScope = (CommandScope<C>) leafNode.command().commandMeta().getOrDefault(
-                CommandScope.META_COMMAND_SCOPE,
-                CommandScope.global()
-        );
-        leafNode.nodeMeta().set(NODE_META_SCOPE, parentScope);
-
-        List<CommandNode<C>> chain = this.getChain(leafNode);
-        Collections.reverse(chain);
-        chain = chain.subList(1, chain.size());
-
-        for (final CommandNode<C> commandNode : chain) {
-            final CommandScope<C> existingScope = (CommandScope<C>) commandNode.nodeMeta().getOrNull(NODE_META_SCOPE);
-
-            CommandScope<C> scope;
-            if (existingScope != null) {
-                // Global scope overrides everything :)
-                if (existingScope instanceof CommandScope.Global) {
-                    scope = existingScope;
-                } else if (existingScope instanceof CommandScope.Guilds) {
-                    if (parentScope instanceof CommandScope.Guilds) {
-                        scope = ((CommandScope.Guilds<C>) existingScope)
-                                .withGuild(((CommandScope.Guilds<C>) parentScope).guilds());
-                    } else {
-                        scope = existingScope;
-                    }
+        if (this.registrationHandler.version() == this.version) {
+            return;
+        }
+        synchronized (this) {
+            final long version = this.registrationHandler.version();
+            if (version == this.version) {
+                return;
+            }
+            final RootNodeIndex<C>.Batch batch = this.rootNodeIndex.batch();
+            for (final String rootName : this.registrationHandler.changedRoots(this.version)) {
+                final CommandNode<C> rootNode = this.commandTree.getNamedNode(rootName);
+                if (rootNode == null) {
+                    batch.update(rootName, null, null);
                 } else {
-                    scope = parentScope;
+                    batch.update(rootName, rootNode, this.processNode(rootNode));
                 }
-            } else {
-                scope = parentScope;
             }
+            batch.publish();
+            this.guildIndex = this.indexGuilds();
+            this.version = version;
+        }
+    }
+
+    /**
+     * Returns the version of the tree as of the last {@link #prepareTree()} invocation.
+     *
+     * <p>The version increases every time the prepared tree changes, which means that it can be used to invalidate
+     * anything that was derived from the prepared tree.</p>
+     *
+     * @return the tree version
+     */
+    public long version() {
+        return this.version;
+    }
+
+    /**
+     * Returns the root nodes that are visible in the given {@code scope}, as of the last {@link #prepareTree()} invocation.
+     *
+     * <p>The root nodes are resolved using an inverted index from scopes to root nodes, which means that only the root
+     * nodes that are relevant to the scope are visited. The returned root nodes are sorted by name.</p>
+     *
+     * @param scope scope to resolve
+     * @return mutable list containing the root nodes
+     */
+    public @NonNull List<@NonNull CommandNode<C>> rootNodes(final @NonNull CommandScope<C> scope) {
+        return this.rootNodeIndex.rootNodes(Objects.requireNonNull(scope, "scope"));
+    }
+
+    /**
+     * Returns the scope of the root command with the given {@code rootName}, as of the last {@link #prepareTree()}
+     * invocation.
+     *
+     * <p>The processed scope is kept until the next {@link #prepareTree()} invocation, even if the root command has been
+     * removed from the tree in the meantime. This makes it possible to determine where a removed root command was
+     * registered to.</p>
+     *
+     * @param rootName name of the root command
+     * @return the processed scope, or {@code null} if the root command has not been processed
+     */
+    public @Nullable CommandScope<C> processedScope(final @NonNull String rootName) {
+        return this.rootNodeIndex.scope(Objects.requireNonNull(rootName, "rootName"));
+    }
 
-            commandNode.nodeMeta().set(NODE_META_SCOPE, scope);
+    /**
+     * Returns the index of the guilds that have guild-scoped commands, as of the last {@link #prepareTree()} invocation.
+     *
+     * @return the guild index
+     */
+    public @NonNull GuildIndex guildIndex() {
+        return this.guildIndex;
+    }
+
+    /**
+     * Computes the scope of the given {@code node} from the scopes of the commands in its subtree.
+     *
+     * @param node node to process
+     * @return the scope of the node, or {@code null} if there are no commands in the subtree
+     */
+    @SuppressWarnings("unchecked")
+    private @Nullable CommandScope<C> processNode(final @NonNull CommandNode<C> node) {
+        CommandScope<C> scope = null;
+        if (node.command() != null) {
+            scope = (CommandScope<C>) node.command().commandMeta().getOrDefault(
+                    CommandScope.META_COMMAND_SCOPE,
+                    CommandScope.global()
+            );
+        }
+        for (final CommandNode<C> child : node.children()) {
+            scope = this.mergeScopes(scope, this.processNode(child));
         }
+        if (scope != null) {
+            node.nodeMeta().set(NODE_META_SCOPE, scope);
+        }
+        return scope;
     }
 
-    private @NonNull List<@NonNull CommandNode<C>> getChain(final @Nullable CommandNode<C> end) {
-        final List<CommandNode<C>> chain = new LinkedList<>();
-        CommandNode<C> tail = end;
-        while (tail != null) {
-            chain.add(tail);
-            tail = tail.parent();
+    @SuppressWarnings("unchecked")
+    private @Nullable CommandScope<C> mergeScopes(
+            final @Nullable CommandScope<C> first,
+            final @Nullable CommandScope<C> second
+    ) {
+        if (first == null) {
+            return second;
+        } else if (second == null) {
+            return first;
+        }
+        // Global scope overrides everything :)
+        if (first instanceof CommandScope.Global) {
+            return first;
+        } else if (second instanceof CommandScope.Global) {
+            return second;
+        }
+        if (first instanceof CommandScope.Guilds && second instanceof CommandScope.Guilds) {
+            return ((CommandScope.Guilds<C>) first).withGuilds((CommandScope.Guilds<C>) second);
+        }
+        return second;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NonNull GuildIndex indexGuilds() {
+        final List<CommandScope<C>> scopes = new ArrayList<>();
+        for (final CommandNode<C> rootNode : this.commandTree.rootNodes()) {
+            final CommandScope<C> scope = (CommandScope<C>) rootNode.nodeMeta().getOrNull(NODE_META_SCOPE);
+            if (scope != null) {
+                scopes.add(scope);
+            }
         }
-        Collections.reverse(chain);
-        return chain;
+        return GuildIndex.of(scopes);
     }
 }
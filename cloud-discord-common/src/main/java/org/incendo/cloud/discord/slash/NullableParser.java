@@ -48,6 +48,18 @@ public abstract class NullableParser<C, T> implements ArgumentParser.FutureArgum
 
     public static final Object SENTINEL_VALUE = new Object();
 
+    private static final ArgumentParseResult SENTINEL_RESULT = ArgumentParseResult.success(SENTINEL_VALUE);
+
+    /**
+     * Returns a completed future that represents a successful parse that did not map to a currently existing value.
+     *
+     * @param <T> parser type
+     * @return future that completes with {@code null}
+     */
+    protected static <T> @NonNull CompletableFuture<@Nullable ArgumentParseResult<T>> nullResult() {
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Attempts to parse the object, returning {@code null} if parsing was successful but did not map to a currently
      * existing value.
@@ -66,11 +78,16 @@ public abstract class NullableParser<C, T> implements ArgumentParser.FutureArgum
             final @NonNull CommandContext<@NonNull C> commandContext,
             final @NonNull CommandInput commandInput
     ) {
-        return this.parseNullable(commandContext, commandInput).thenApply(result -> {
+        final CompletableFuture<ArgumentParseResult<T>> future = this.parseNullable(commandContext, commandInput);
+        // Most parsers complete immediately, in which case there's no need to compose a new future.
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return future.join() == null ? CompletableFuture.completedFuture(SENTINEL_RESULT) : future;
+        }
+        return future.thenApply(result -> {
             if (result != null) {
                 return result;
             }
-            return ArgumentParseResult.success(SENTINEL_VALUE);
+            return SENTINEL_RESULT;
         });
     }
 }
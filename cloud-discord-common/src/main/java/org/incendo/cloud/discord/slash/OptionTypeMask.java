@@ -0,0 +1,83 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Set of {@link DiscordOptionType option types} that is stored as a bitmask indexed by the integer value of the type.
+ *
+ * <p>This allows option types to be classified without iterating over a collection of types.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class OptionTypeMask {
+
+    private final long mask;
+
+    private OptionTypeMask(final long mask) {
+        this.mask = mask;
+    }
+
+    /**
+     * Returns a mask that contains the given {@code types}.
+     *
+     * @param types option types
+     * @return the mask
+     */
+    public static @NonNull OptionTypeMask of(final @NonNull Iterable<? extends @NonNull DiscordOptionType<?>> types) {
+        Objects.requireNonNull(types, "types");
+        long mask = 0L;
+        for (final DiscordOptionType<?> type : types) {
+            if (type.value() < 0 || type.value() >= Long.SIZE) {
+                throw new IllegalArgumentException("Option type value out of range: " + type.value());
+            }
+            mask |= 1L << type.value();
+        }
+        return new OptionTypeMask(mask);
+    }
+
+    /**
+     * Returns whether the mask contains the option type with the given {@code value}.
+     *
+     * @param value option type value
+     * @return {@code true} if the type is contained in the mask, else {@code false}
+     */
+    public boolean contains(final int value) {
+        return value >= 0 && value < Long.SIZE && (this.mask & (1L << value)) != 0L;
+    }
+
+    /**
+     * Returns whether the mask contains the given {@code type}.
+     *
+     * @param type option type
+     * @return {@code true} if the type is contained in the mask, else {@code false}
+     */
+    public boolean contains(final @NonNull DiscordOptionType<?> type) {
+        return this.contains(type.value());
+    }
+}
@@ -0,0 +1,69 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.Suggestions;
+
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class RankedSuggestionSelector implements SuggestionSelector {
+
+    private final Comparator<? super Suggestion> comparator;
+
+    RankedSuggestionSelector(final @NonNull Comparator<? super Suggestion> comparator) {
+        this.comparator = comparator;
+    }
+
+    @Override
+    public @NonNull List<@NonNull Suggestion> select(final @NonNull Suggestions<?, ?> suggestions, final int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        // The head of the heap is the worst of the retained suggestions, so that it can be evicted by a better one.
+        final Comparator<Suggestion> worstFirst = (first, second) -> this.comparator.compare(second, first);
+        final PriorityQueue<Suggestion> heap = new PriorityQueue<>(limit + 1, worstFirst);
+        for (final Suggestion suggestion : suggestions.list()) {
+            final Suggestion trimmed = SuggestionSelector.trim(suggestion, suggestions);
+            if (trimmed == null) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(trimmed);
+            } else if (worstFirst.compare(trimmed, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(trimmed);
+            }
+        }
+        final List<Suggestion> selected = new ArrayList<>(heap);
+        selected.sort(this.comparator);
+        return selected;
+    }
+}
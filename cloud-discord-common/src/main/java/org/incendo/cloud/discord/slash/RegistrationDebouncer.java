@@ -0,0 +1,234 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.internal.CommandNode;
+
+/**
+ * Collects changes to the command tree and flushes them as a single batch once no changes have been made for the
+ * duration of the {@link #window()}.
+ *
+ * <p>For every changed root command, the debouncer determines the scopes the root command was registered to before the
+ * change, and the scopes it is registered to after the change. The union of those scopes is passed to the flush
+ * callback, which is expected to register the commands for the affected scopes again. Root commands that have been
+ * removed from the tree are resolved using the processed scopes, which are kept until the commands are generated again.
+ * If the previous scope of a removed root command cannot be determined, then all scopes are considered to be
+ * affected.</p>
+ *
+ * <p>The changes are flushed on a single daemon thread that is started by the first change. The thread is stopped when
+ * the debouncer is {@link #close() closed}, after which changes are no longer collected.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public final class RegistrationDebouncer<C> implements AutoCloseable {
+
+    /**
+     * The default debounce window.
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(2L);
+
+    private final Object lock = new Object();
+    private final Set<String> changedRoots = new HashSet<>();
+    private final List<CommandScope<C>> affectedScopes = new ArrayList<>();
+    private final CommandTree<C> commandTree;
+    private final Function<String, @Nullable CommandScope<C>> processedScopes;
+    private final BooleanSupplier enabled;
+    private final Consumer<ScopeChanges> flush;
+
+    private volatile Duration window = DEFAULT_WINDOW;
+    private @Nullable ScheduledExecutorService executor;
+    private @Nullable ScheduledFuture<?> scheduledFlush;
+    private boolean allScopes;
+    private boolean closed;
+
+    /**
+     * Creates a new debouncer and registers it to the given {@code registrationHandler}.
+     *
+     * @param commandTree         command tree
+     * @param registrationHandler registration handler that reports the changes to the tree
+     * @param processedScopes     function that returns the processed scope of a root command, or {@code null} if unknown,
+     *                            see {@link NodeProcessor#processedScope(String)}
+     * @param enabled             supplier that determines whether changes should be collected
+     * @param flush               callback that registers the commands for the affected scopes
+     */
+    public RegistrationDebouncer(
+            final @NonNull CommandTree<C> commandTree,
+            final @NonNull DiscordRegistrationHandler<C> registrationHandler,
+            final @NonNull Function<@NonNull String, @Nullable CommandScope<C>> processedScopes,
+            final @NonNull BooleanSupplier enabled,
+            final @NonNull Consumer<@NonNull ScopeChanges> flush
+    ) {
+        this.commandTree = Objects.requireNonNull(commandTree, "commandTree");
+        this.processedScopes = Objects.requireNonNull(processedScopes, "processedScopes");
+        this.enabled = Objects.requireNonNull(enabled, "enabled");
+        this.flush = Objects.requireNonNull(flush, "flush");
+        Objects.requireNonNull(registrationHandler, "registrationHandler").addChangeListener(this::onChange);
+    }
+
+    /**
+     * Returns the debounce window.
+     *
+     * @return the window
+     */
+    public @NonNull Duration window() {
+        return this.window;
+    }
+
+    /**
+     * Sets the debounce window.
+     *
+     * @param window the window
+     */
+    public void window(final @NonNull Duration window) {
+        Objects.requireNonNull(window, "window");
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("window may not be negative");
+        }
+        this.window = window;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onChange(final @NonNull String rootName) {
+        if (!this.enabled.getAsBoolean()) {
+            return;
+        }
+        synchronized (this.lock) {
+            if (this.closed) {
+                return;
+            }
+            // The processed scope of the root node is the scope the commands were last registered to.
+            final CommandNode<C> rootNode = this.commandTree.getNamedNode(rootName);
+            if (rootNode == null) {
+                // The node has been removed from the tree, but the processor keeps its scope until the next pass.
+                final CommandScope<C> previousScope = this.processedScopes.apply(rootName);
+                if (previousScope == null) {
+                    this.allScopes = true;
+                } else {
+                    this.affectedScopes.add(previousScope);
+                }
+            } else {
+                final CommandScope<C> previousScope =
+                        (CommandScope<C>) rootNode.nodeMeta().getOrNull(NodeProcessor.NODE_META_SCOPE);
+                if (previousScope != null) {
+                    this.affectedScopes.add(previousScope);
+                }
+            }
+            this.changedRoots.add(rootName);
+
+            if (this.scheduledFlush != null) {
+                this.scheduledFlush.cancel(false);
+            }
+            this.scheduledFlush = this.executor().schedule(this::flush, this.window.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Closes the debouncer. Changes that have not been flushed yet are discarded, and the flush thread is stopped.
+     */
+    @Override
+    public void close() {
+        synchronized (this.lock) {
+            this.closed = true;
+            if (this.scheduledFlush != null) {
+                this.scheduledFlush.cancel(false);
+                this.scheduledFlush = null;
+            }
+            if (this.executor != null) {
+                this.executor.shutdownNow();
+                this.executor = null;
+            }
+            this.changedRoots.clear();
+            this.affectedScopes.clear();
+            this.allScopes = false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void flush() {
+        final ScopeChanges changes;
+        synchronized (this.lock) {
+            if (this.closed) {
+                return;
+            }
+            for (final String rootName : this.changedRoots) {
+                final CommandNode<C> rootNode = this.commandTree.getNamedNode(rootName);
+                if (rootNode == null) {
+                    continue;
+                }
+                for (final CommandNode<C> leaf : this.commandTree.getLeavesRaw(rootNode)) {
+                    if (leaf.command() == null) {
+                        continue;
+                    }
+                    this.affectedScopes.add((CommandScope<C>) leaf.command().commandMeta().getOrDefault(
+                            CommandScope.META_COMMAND_SCOPE,
+                            CommandScope.global()
+                    ));
+                }
+            }
+
+            if (this.allScopes) {
+                changes = ScopeChanges.of(true, GuildIndex.allGuilds());
+            } else {
+                final boolean global = this.affectedScopes.stream().anyMatch(scope -> scope instanceof CommandScope.Global);
+                changes = ScopeChanges.of(global, GuildIndex.of(this.affectedScopes));
+            }
+
+            this.changedRoots.clear();
+            this.affectedScopes.clear();
+            this.allScopes = false;
+            this.scheduledFlush = null;
+        }
+        this.flush.accept(changes);
+    }
+
+    private @NonNull ScheduledExecutorService executor() {
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "cloud-discord-registration-debouncer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.executor;
+    }
+}
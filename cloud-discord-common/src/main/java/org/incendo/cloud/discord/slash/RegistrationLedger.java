@@ -0,0 +1,118 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps track of the commands that were last pushed to Discord for each scope.
+ *
+ * <p>Scopes are identified by the guild snowflake, or {@link #GLOBAL_SCOPE} for global commands. The ledger stores the
+ * {@link CommandHasher content hash} of the last successful registration, which is used to skip registrations that
+ * would not change anything.</p>
+ *
+ * <p>A persistent ledger, such as {@link #file(Path)}, allows the registrations to be skipped across restarts. The ledger
+ * has no way of knowing about changes made to the commands outside of the command manager, so a persistent ledger should
+ * only be shared by bots that use the same application.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface RegistrationLedger extends AutoCloseable {
+
+    /**
+     * The scope identifier used for global commands.
+     */
+    long GLOBAL_SCOPE = 0L;
+
+    /**
+     * Returns a ledger that only keeps track of the registrations in memory.
+     *
+     * @return the ledger
+     */
+    static @NonNull RegistrationLedger inMemory() {
+        return new InMemoryRegistrationLedger();
+    }
+
+    /**
+     * Returns a ledger that persists the registrations to the file at the given {@code path}.
+     *
+     * <p>The file is an append-only log that is compacted once it contains too many stale entries. Existing entries are
+     * loaded when the ledger is created. The file is kept open between records, so the ledger should be {@link #close()
+     * closed} once it is no longer used.</p>
+     *
+     * @param path path to the ledger file, will be created if it does not exist
+     * @return the ledger
+     * @throws IOException if the existing ledger file could not be read
+     */
+    static @NonNull RegistrationLedger file(final @NonNull Path path) throws IOException {
+        return new FileRegistrationLedger(Objects.requireNonNull(path, "path"));
+    }
+
+    /**
+     * Returns the last successful registration to the given {@code scope}, if known.
+     *
+     * @param scope scope identifier
+     * @return the registration, or {@code null}
+     */
+    @Nullable RegistrationRecord lastRegistration(long scope);
+
+    /**
+     * Records a successful registration of commands with the given {@code hash} to the given {@code scope}.
+     *
+     * <p>Recording is best effort. Implementations should not throw if the registration cannot be persisted, as the
+     * registration itself has already succeeded.</p>
+     *
+     * @param scope scope identifier
+     * @param hash  hash of the registered commands
+     */
+    void record(long scope, @NonNull String hash);
+
+    /**
+     * Returns whether the last successful registration to the given {@code scope} had the given {@code hash}.
+     *
+     * @param scope scope identifier
+     * @param hash  hash of the commands that would be registered
+     * @return {@code true} if the registration can be skipped, else {@code false}
+     */
+    default boolean isUpToDate(final long scope, final @NonNull String hash) {
+        Objects.requireNonNull(hash, "hash");
+        final RegistrationRecord registration = this.lastRegistration(scope);
+        return registration != null && registration.hash().equals(hash);
+    }
+
+    /**
+     * Releases the resources held by the ledger, such as open files.
+     *
+     * <p>The default implementation does nothing.</p>
+     */
+    @Override
+    default void close() {
+    }
+}
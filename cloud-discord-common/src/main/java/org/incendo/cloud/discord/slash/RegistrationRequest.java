@@ -0,0 +1,83 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.immutables.value.Value;
+import org.incendo.cloud.discord.immutables.ImmutableImpl;
+
+/**
+ * A command registration submitted to a {@link RegistrationScheduler}.
+ *
+ * @since 1.0.0
+ */
+@ImmutableImpl
+@Value.Immutable
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface RegistrationRequest {
+
+    /**
+     * Returns a request for the global commands.
+     *
+     * @return the request
+     */
+    static @NonNull RegistrationRequest global() {
+        return RegistrationRequestImpl.of(RegistrationLedger.GLOBAL_SCOPE, 0);
+    }
+
+    /**
+     * Returns a request for the commands of the guild with the given {@code guildId}.
+     *
+     * @param guildId     guild ID
+     * @param memberCount number of members in the guild, used to prioritize the registration
+     * @return the request
+     */
+    static @NonNull RegistrationRequest guild(final long guildId, final int memberCount) {
+        return RegistrationRequestImpl.of(guildId, memberCount);
+    }
+
+    /**
+     * Returns the scope identifier, which is either {@link RegistrationLedger#GLOBAL_SCOPE} or the guild ID.
+     *
+     * @return the scope
+     */
+    long scope();
+
+    /**
+     * Returns the number of members in the guild, or {@code 0} for global registrations.
+     *
+     * @return the member count
+     */
+    int memberCount();
+
+    /**
+     * Returns whether the request is for the global commands.
+     *
+     * @return {@code true} if the request is global, else {@code false}
+     */
+    default boolean isGlobal() {
+        return this.scope() == RegistrationLedger.GLOBAL_SCOPE;
+    }
+}
@@ -0,0 +1,239 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Schedules command registrations so that they do not flood the Discord rate limits.
+ *
+ * <p>At most {@link #maxInFlight()} registrations are executed at the same time. Pending registrations are ordered so that
+ * the global commands are registered first, followed by the guilds in the order determined by the guild comparator. If a
+ * registration is submitted for a scope that already has a pending registration, then the registrations are coalesced
+ * into a single registration that runs the most recently submitted action.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class RegistrationScheduler {
+
+    /**
+     * The default number of registrations that may be executed at the same time.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 2;
+
+    /**
+     * Comparator that orders the guilds with the most members first.
+     */
+    public static final Comparator<RegistrationRequest> LARGEST_GUILDS_FIRST =
+            Comparator.comparingInt(RegistrationRequest::memberCount).reversed();
+
+    private final Object lock = new Object();
+    private final Map<Long, PendingRegistration> pendingRegistrations = new HashMap<>();
+    private final Set<Long> inFlightScopes = new HashSet<>();
+    private final PriorityQueue<PendingRegistration> queue;
+    private final int maxInFlight;
+
+    private long sequence;
+    private boolean draining;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param maxInFlight maximum number of registrations that may be executed at the same time
+     * @param guildOrder  comparator that determines the order in which guild registrations are executed
+     */
+    public RegistrationScheduler(final int maxInFlight, final @NonNull Comparator<RegistrationRequest> guildOrder) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        Objects.requireNonNull(guildOrder, "guildOrder");
+        this.maxInFlight = maxInFlight;
+        this.queue = new PriorityQueue<>(
+                Comparator.<PendingRegistration, Boolean>comparing(registration -> !registration.request.isGlobal())
+                        .thenComparing(registration -> registration.request, guildOrder)
+                        .thenComparingLong(registration -> registration.sequence)
+        );
+    }
+
+    /**
+     * Returns a scheduler that executes up to {@link #DEFAULT_MAX_IN_FLIGHT} registrations at the same time, and that
+     * registers the {@link #LARGEST_GUILDS_FIRST largest guilds first}.
+     *
+     * @return the scheduler
+     */
+    public static @NonNull RegistrationScheduler create() {
+        return new RegistrationScheduler(DEFAULT_MAX_IN_FLIGHT, LARGEST_GUILDS_FIRST);
+    }
+
+    /**
+     * Returns the maximum number of registrations that may be executed at the same time.
+     *
+     * @return the maximum number of in-flight registrations
+     */
+    public int maxInFlight() {
+        return this.maxInFlight;
+    }
+
+    /**
+     * Submits a registration.
+     *
+     * <p>The {@code registration} is invoked once the registration is scheduled, and should return a stage that completes
+     * once the registration is done. If there is already a pending registration for the same scope, then the pending
+     * registration will invoke the given {@code registration} instead, and the returned future is shared between
+     * the submissions.</p>
+     *
+     * @param request      the request
+     * @param registration action that performs the registration
+     * @return future that completes when the registration is done
+     */
+    public @NonNull CompletableFuture<Void> submit(
+            final @NonNull RegistrationRequest request,
+            final @NonNull Supplier<@NonNull CompletionStage<?>> registration
+    ) {
+        Objects.requireNonNull(request, "request");
+        Objects.requireNonNull(registration, "registration");
+
+        final CompletableFuture<Void> result;
+        synchronized (this.lock) {
+            final PendingRegistration existing = this.pendingRegistrations.get(request.scope());
+            if (existing != null) {
+                existing.registration = registration;
+                return existing.result;
+            }
+            final PendingRegistration pendingRegistration = new PendingRegistration(request, registration, this.sequence++);
+            this.pendingRegistrations.put(request.scope(), pendingRegistration);
+            this.queue.add(pendingRegistration);
+            result = pendingRegistration.result;
+        }
+        this.drain();
+        return result;
+    }
+
+    /**
+     * Returns the number of registrations that are waiting to be executed.
+     *
+     * @return the number of pending registrations
+     */
+    public int pendingRegistrations() {
+        synchronized (this.lock) {
+            return this.pendingRegistrations.size();
+        }
+    }
+
+    private void drain() {
+        synchronized (this.lock) {
+            // Registrations that complete immediately would otherwise recurse into this method. The thread that is
+            // already draining the queue will pick up any state changes, as they happen while holding the lock.
+            if (this.draining) {
+                return;
+            }
+            this.draining = true;
+        }
+        while (true) {
+            final PendingRegistration next;
+            synchronized (this.lock) {
+                next = this.inFlightScopes.size() < this.maxInFlight ? this.pollRunnable() : null;
+                if (next == null) {
+                    this.draining = false;
+                    return;
+                }
+                this.pendingRegistrations.remove(next.request.scope());
+                this.inFlightScopes.add(next.request.scope());
+            }
+            this.execute(next);
+        }
+    }
+
+    /**
+     * Polls the first registration for a scope that has no registration in flight.
+     *
+     * @return the registration, or {@code null}
+     */
+    private @Nullable PendingRegistration pollRunnable() {
+        final List<PendingRegistration> skipped = new ArrayList<>();
+        PendingRegistration next = this.queue.poll();
+        while (next != null && this.inFlightScopes.contains(next.request.scope())) {
+            skipped.add(next);
+            next = this.queue.poll();
+        }
+        this.queue.addAll(skipped);
+        return next;
+    }
+
+    private void execute(final @NonNull PendingRegistration pendingRegistration) {
+        CompletionStage<?> stage;
+        try {
+            stage = pendingRegistration.registration.get();
+        } catch (final RuntimeException e) {
+            final CompletableFuture<?> failedStage = new CompletableFuture<>();
+            failedStage.completeExceptionally(e);
+            stage = failedStage;
+        }
+        stage.whenComplete((ignored, throwable) -> {
+            synchronized (this.lock) {
+                this.inFlightScopes.remove(pendingRegistration.request.scope());
+            }
+            if (throwable == null) {
+                pendingRegistration.result.complete(null);
+            } else {
+                pendingRegistration.result.completeExceptionally(throwable);
+            }
+            this.drain();
+        });
+    }
+
+    private static final class PendingRegistration {
+
+        private final RegistrationRequest request;
+        private final long sequence;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private Supplier<CompletionStage<?>> registration;
+
+        private PendingRegistration(
+                final @NonNull RegistrationRequest request,
+                final @NonNull Supplier<@NonNull CompletionStage<?>> registration,
+                final long sequence
+        ) {
+            this.request = request;
+            this.registration = registration;
+            this.sequence = sequence;
+        }
+    }
+}
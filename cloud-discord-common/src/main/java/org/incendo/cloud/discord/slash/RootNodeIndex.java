@@ -0,0 +1,224 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.internal.CommandNode;
+
+/**
+ * Inverted index from scopes to the root nodes that are visible in them.
+ *
+ * <p>Root nodes are stored in buckets: one bucket for global commands, and one bucket per guild ID that appears in a
+ * {@link CommandScope.Guilds guild scope}, including {@code -1} for commands that are active in all guilds. The buckets
+ * are sorted by the root node name so that the resolved commands have a stable order.</p>
+ *
+ * <p>The index is only mutated by the {@link NodeProcessor} while it holds its lock, through a {@link Batch} per
+ * {@link NodeProcessor#prepareTree()} pass. A batch copies every bucket that it touches once, applies all updates of the
+ * pass to the copies, and then publishes them as unmodifiable snapshots. Lookups therefore never observe a partially
+ * updated bucket, and a pass that touches many guilds copies each of their buckets only once.</p>
+ *
+ * @param <C> command sender type
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class RootNodeIndex<C> {
+
+    private final Map<String, IndexedRoot<C>> roots = new ConcurrentHashMap<>();
+    private final Map<Long, SortedMap<String, CommandNode<C>>> guildBuckets = new ConcurrentHashMap<>();
+    private volatile SortedMap<String, CommandNode<C>> globalBucket = Collections.emptySortedMap();
+
+    /**
+     * Returns a batch that updates the current entries of the index.
+     *
+     * @return the batch
+     */
+    @NonNull Batch batch() {
+        return new Batch(false);
+    }
+
+    /**
+     * Returns a batch that replaces all entries of the index. Only the roots that are updated in the batch remain in the
+     * index once it has been published.
+     *
+     * @return the batch
+     */
+    @NonNull Batch rebuild() {
+        return new Batch(true);
+    }
+
+    /**
+     * Returns the scope that the root node with the given {@code rootName} is indexed under.
+     *
+     * @param rootName name of the root node
+     * @return the scope, or {@code null} if the root node is not indexed
+     */
+    @Nullable CommandScope<C> scope(final @NonNull String rootName) {
+        final IndexedRoot<C> indexedRoot = this.roots.get(rootName);
+        return indexedRoot == null ? null : indexedRoot.scope;
+    }
+
+    /**
+     * Returns the root nodes that are visible in the given {@code scope}, sorted by name.
+     *
+     * @param scope scope to resolve
+     * @return the root nodes
+     */
+    @NonNull List<@NonNull CommandNode<C>> rootNodes(final @NonNull CommandScope<C> scope) {
+        if (scope instanceof CommandScope.Global) {
+            return new ArrayList<>(this.globalBucket.values());
+        }
+        if (scope instanceof CommandScope.Guilds) {
+            final long[] guilds = ((CommandScope.Guilds<C>) scope).sortedGuildIds();
+            if (guilds.length == 1) {
+                final SortedMap<String, CommandNode<C>> bucket = this.guildBuckets.get(guilds[0]);
+                return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket.values());
+            }
+            final SortedMap<String, CommandNode<C>> rootNodes = new TreeMap<>();
+            for (final long guild : guilds) {
+                final SortedMap<String, CommandNode<C>> bucket = this.guildBuckets.get(guild);
+                if (bucket != null) {
+                    rootNodes.putAll(bucket);
+                }
+            }
+            return new ArrayList<>(rootNodes.values());
+        }
+
+        // Unknown scope implementation, so we fall back to checking every root node.
+        final SortedMap<String, CommandNode<C>> rootNodes = new TreeMap<>();
+        for (final Map.Entry<String, IndexedRoot<C>> entry : this.roots.entrySet()) {
+            if (entry.getValue().scope.overlaps(scope)) {
+                rootNodes.put(entry.getKey(), entry.getValue().rootNode);
+            }
+        }
+        return new ArrayList<>(rootNodes.values());
+    }
+
+    /**
+     * Collects the updates of a single {@link NodeProcessor#prepareTree()} pass.
+     */
+    final class Batch {
+
+        private final boolean rebuild;
+        private final Set<String> updatedRoots = new HashSet<>();
+        private final Map<Long, SortedMap<String, CommandNode<C>>> guildBuckets = new HashMap<>();
+        private @Nullable SortedMap<String, CommandNode<C>> globalBucket;
+
+        private Batch(final boolean rebuild) {
+            this.rebuild = rebuild;
+            if (rebuild) {
+                this.globalBucket = new TreeMap<>();
+            }
+        }
+
+        /**
+         * Indexes the given {@code rootNode} under the given {@code scope}, replacing any previous entry with the same name.
+         *
+         * @param rootName name of the root node
+         * @param rootNode the root node, or {@code null} if the root node was removed
+         * @param scope    scope of the root node, or {@code null} if the root node was removed
+         */
+        void update(
+                final @NonNull String rootName,
+                final @Nullable CommandNode<C> rootNode,
+                final @Nullable CommandScope<C> scope
+        ) {
+            // When rebuilding, the buckets start out empty, so only entries from this batch have to be removed.
+            final boolean updatedBefore = !this.updatedRoots.add(rootName);
+            final IndexedRoot<C> previous = this.rebuild && !updatedBefore ? null : RootNodeIndex.this.roots.get(rootName);
+            if (previous != null) {
+                this.forEachBucket(previous.scope, bucket -> bucket.remove(rootName));
+            }
+            if (rootNode == null || scope == null) {
+                RootNodeIndex.this.roots.remove(rootName);
+                return;
+            }
+            RootNodeIndex.this.roots.put(rootName, new IndexedRoot<>(rootNode, scope));
+            this.forEachBucket(scope, bucket -> bucket.put(rootName, rootNode));
+        }
+
+        /**
+         * Publishes the updated buckets to the index.
+         */
+        void publish() {
+            if (this.rebuild) {
+                RootNodeIndex.this.roots.keySet().retainAll(this.updatedRoots);
+                RootNodeIndex.this.guildBuckets.keySet().retainAll(this.guildBuckets.keySet());
+            }
+            for (final Map.Entry<Long, SortedMap<String, CommandNode<C>>> entry : this.guildBuckets.entrySet()) {
+                if (entry.getValue().isEmpty()) {
+                    RootNodeIndex.this.guildBuckets.remove(entry.getKey());
+                } else {
+                    RootNodeIndex.this.guildBuckets.put(entry.getKey(), Collections.unmodifiableSortedMap(entry.getValue()));
+                }
+            }
+            if (this.globalBucket != null) {
+                RootNodeIndex.this.globalBucket = Collections.unmodifiableSortedMap(this.globalBucket);
+            }
+        }
+
+        private void forEachBucket(
+                final @NonNull CommandScope<C> scope,
+                final @NonNull Consumer<SortedMap<String, CommandNode<C>>> mutator
+        ) {
+            if (scope instanceof CommandScope.Global) {
+                if (this.globalBucket == null) {
+                    this.globalBucket = new TreeMap<>(RootNodeIndex.this.globalBucket);
+                }
+                mutator.accept(this.globalBucket);
+            } else if (scope instanceof CommandScope.Guilds) {
+                for (final long guild : ((CommandScope.Guilds<C>) scope).sortedGuildIds()) {
+                    mutator.accept(this.guildBuckets.computeIfAbsent(guild, this::copyBucket));
+                }
+            }
+        }
+
+        private @NonNull SortedMap<String, CommandNode<C>> copyBucket(final long guild) {
+            final SortedMap<String, CommandNode<C>> existing = this.rebuild ? null : RootNodeIndex.this.guildBuckets.get(guild);
+            return existing == null ? new TreeMap<>() : new TreeMap<>(existing);
+        }
+    }
+
+    private static final class IndexedRoot<C> {
+
+        private final CommandNode<C> rootNode;
+        private final CommandScope<C> scope;
+
+        private IndexedRoot(final @NonNull CommandNode<C> rootNode, final @NonNull CommandScope<C> scope) {
+            this.rootNode = rootNode;
+            this.scope = scope;
+        }
+    }
+}
@@ -251,6 +251,9 @@ public class StandardDiscordCommandFactory<C> implements DiscordCommandFactory<C
 
     @SuppressWarnings({"rawtypes", "unchecked"})
     private @Nullable Range<?> extractRange(final @NonNull ArgumentParser<C, ?> parser) {
+        if (parser instanceof TypedOptionParser) {
+            return this.extractRange(((TypedOptionParser<C, ?>) parser).delegate());
+        }
         final RangeMapper rangeMapper = this.rangeMappers.get(parser.getClass());
         if (rangeMapper == null) {
             return null;
@@ -264,15 +267,31 @@ public class StandardDiscordCommandFactory<C> implements DiscordCommandFactory<C
         // This means that the component is using the default enum suggestions.
         // We'll map them to choices instead.
         if (suggestionProvider instanceof EnumParser) {
-            return ((EnumParser<C, ?>) suggestionProvider).acceptedValues()
+            return this.inlineChoices(((EnumParser<C, ?>) suggestionProvider).acceptedValues()
                     .stream()
                     .map(Enum::name)
                     .map(value -> DiscordOptionChoice.of(value.toLowerCase(Locale.ENGLISH), value))
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()));
         }
         if (!(suggestionProvider instanceof DiscordChoiceProvider)) {
             return Collections.emptyList();
         }
-        return ((DiscordChoiceProvider<C, ?>) suggestionProvider).choices();
+        return this.inlineChoices(((DiscordChoiceProvider<C, ?>) suggestionProvider).choices());
+    }
+
+    /**
+     * Returns the given {@code choices} if Discord accepts them as static choices. Larger sets of choices are returned as
+     * an empty list, so that the option falls back to autocomplete.
+     *
+     * @param choices choices of the option
+     * @return the static choices
+     */
+    private @NonNull Collection<? extends @NonNull DiscordOptionChoice<?>> inlineChoices(
+            final @NonNull Collection<? extends @NonNull DiscordOptionChoice<?>> choices
+    ) {
+        if (choices.size() > SuggestionSelector.MAX_CHOICES) {
+            return Collections.emptyList();
+        }
+        return choices;
     }
 }
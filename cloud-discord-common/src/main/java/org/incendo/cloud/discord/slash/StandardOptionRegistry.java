@@ -25,13 +25,18 @@ package org.incendo.cloud.discord.slash;
 
 import io.leangen.geantyref.GenericTypeReflector;
 import io.leangen.geantyref.TypeToken;
+import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.common.returnsreceiver.qual.This;
 import org.incendo.cloud.parser.ParserDescriptor;
 import org.incendo.cloud.parser.standard.BooleanParser;
@@ -50,6 +55,9 @@ public final class StandardOptionRegistry<C> implements OptionRegistry<C> {
 
     private final Map<DiscordOptionType<?>, ParserDescriptor<C, ?>> parserMap = new HashMap<>();
     private final Map<Class<?>, DiscordOptionType<?>> optionMap = new HashMap<>();
+    private final Map<String, DiscordOptionType<?>> optionsByName = new HashMap<>();
+    private final Map<Type, DiscordOptionType<?>> optionCache = new ConcurrentHashMap<>();
+    private DiscordOptionType<?>[] optionsByValue = new DiscordOptionType<?>[0];
 
     /**
      * Creates a new standard option registry.
@@ -71,6 +79,15 @@ public final class StandardOptionRegistry<C> implements OptionRegistry<C> {
 
         this.parserMap.put(optionType, parser);
         this.optionMap.put(GenericTypeReflector.erase(parser.valueType().getType()), optionType);
+        this.optionsByName.put(optionType.name().toLowerCase(Locale.ROOT), optionType);
+        if (optionType.value() >= 0) {
+            if (optionType.value() >= this.optionsByValue.length) {
+                this.optionsByValue = Arrays.copyOf(this.optionsByValue, optionType.value() + 1);
+            }
+            this.optionsByValue[optionType.value()] = optionType;
+        }
+        // The erased types may now map to a different option.
+        this.optionCache.clear();
         return this;
     }
 
@@ -78,10 +95,25 @@ public final class StandardOptionRegistry<C> implements OptionRegistry<C> {
     public @NonNull DiscordOptionType<?> getOption(final @NonNull TypeToken<?> valueType) {
         Objects.requireNonNull(valueType, "valueType");
 
-        return this.optionMap.getOrDefault(
-                GenericTypeReflector.erase(GenericTypeReflector.box(valueType.getType())),
+        return this.optionCache.computeIfAbsent(valueType.getType(), type -> this.optionMap.getOrDefault(
+                GenericTypeReflector.erase(GenericTypeReflector.box(type)),
                 DiscordOptionType.STRING
-        );
+        ));
+    }
+
+    @Override
+    public @Nullable DiscordOptionType<?> getByValue(final int value) {
+        final DiscordOptionType<?>[] optionsByValue = this.optionsByValue;
+        if (value < 0 || value >= optionsByValue.length) {
+            return null;
+        }
+        return optionsByValue[value];
+    }
+
+    @Override
+    public @Nullable DiscordOptionType<?> getByName(final @NonNull String name) {
+        Objects.requireNonNull(name, "name");
+        return this.optionsByName.get(name.toLowerCase(Locale.ROOT));
     }
 
     @Override
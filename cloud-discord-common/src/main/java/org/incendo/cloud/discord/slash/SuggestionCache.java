@@ -0,0 +1,251 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.Suggestions;
+
+/**
+ * Short-lived cache of the suggestions that were generated for autocomplete interactions.
+ *
+ * <p>Discord sends an autocomplete interaction for every keystroke. The cache keeps the most recent suggestions for each
+ * combination of user, command path and focused option. An interaction with the same input reuses the cached suggestions.
+ * An interaction whose input extends the cached input within the same word narrows the cached suggestions to those that
+ * start with the word, ignoring case, without invoking the suggestion providers. This matches the default suggestion
+ * filtering of cloud. Suggestion processors that filter differently should not be combined with the cache. Lists that
+ * reach the {@link SuggestionSelector#limit(CommandContext) suggestion limit} may have been truncated by the providers,
+ * and are therefore never narrowed.</p>
+ *
+ * <p>Entries expire after a fixed duration, and the least recently used entries are evicted once the cache is full.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class SuggestionCache {
+
+    /**
+     * The default maximum number of cached entries.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * The default duration after which cached entries expire.
+     */
+    public static final Duration DEFAULT_EXPIRY = Duration.ofSeconds(10);
+
+    private final Object lock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Map<AutocompleteKey, Entry> entries;
+    private final long expiryNanos;
+    private final LongSupplier nanoTime;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize maximum number of cached entries
+     * @param expiry      duration after which cached entries expire
+     */
+    public SuggestionCache(final int maximumSize, final @NonNull Duration expiry) {
+        this(maximumSize, expiry, System::nanoTime);
+    }
+
+    SuggestionCache(final int maximumSize, final @NonNull Duration expiry, final @NonNull LongSupplier nanoTime) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        if (Objects.requireNonNull(expiry, "expiry").isNegative() || expiry.isZero()) {
+            throw new IllegalArgumentException("expiry must be positive");
+        }
+        this.expiryNanos = expiry.toNanos();
+        this.nanoTime = Objects.requireNonNull(nanoTime, "nanoTime");
+        this.entries = new LinkedHashMap<AutocompleteKey, Entry>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<AutocompleteKey, Entry> eldest) {
+                return this.size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Returns a cache that holds up to {@link #DEFAULT_MAXIMUM_SIZE} entries that expire after {@link #DEFAULT_EXPIRY}.
+     *
+     * @return the cache
+     */
+    public static @NonNull SuggestionCache create() {
+        return new SuggestionCache(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRY);
+    }
+
+    /**
+     * Returns the suggestions for the given {@code input}, either from the cache or from the {@code generator}.
+     *
+     * @param <C>           command sender type
+     * @param user          snowflake of the user that is autocompleting
+     * @param commandPath   full name of the command that is being autocompleted
+     * @param focusedOption name of the focused option
+     * @param input         command input that the suggestions are generated for
+     * @param context       command context of the autocomplete interaction
+     * @param generator     generator that is invoked if the suggestions are not cached
+     * @return future that completes with the suggestions
+     */
+    public <C> @NonNull CompletableFuture<@NonNull Suggestions<C, ?>> suggest(
+            final long user,
+            final @NonNull String commandPath,
+            final @NonNull String focusedOption,
+            final @NonNull String input,
+            final @NonNull CommandContext<C> context,
+            final @NonNull Supplier<? extends CompletableFuture<? extends Suggestions<C, ?>>> generator
+    ) {
+        final AutocompleteKey key = new AutocompleteKey(user, commandPath, focusedOption);
+        final List<Suggestion> cached = this.lookup(key, input);
+        if (cached != null) {
+            this.hits.increment();
+            return CompletableFuture.completedFuture(Suggestions.create(context, cached, CommandInput.of(input)));
+        }
+        this.misses.increment();
+        return generator.get().thenApply(suggestions -> {
+            this.store(key, input, suggestions.list(), SuggestionSelector.limit(context));
+            return suggestions;
+        });
+    }
+
+    /**
+     * Returns the number of interactions that were answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long hits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of interactions that invoked the suggestion providers.
+     *
+     * @return the number of cache misses
+     */
+    public long misses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Removes all cached entries.
+     */
+    public void invalidateAll() {
+        synchronized (this.lock) {
+            this.entries.clear();
+        }
+    }
+
+    private @Nullable List<Suggestion> lookup(final @NonNull AutocompleteKey key, final @NonNull String input) {
+        final Entry entry;
+        synchronized (this.lock) {
+            entry = this.entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (this.nanoTime.getAsLong() - entry.createdAt >= this.expiryNanos) {
+                this.entries.remove(key);
+                return null;
+            }
+        }
+        if (entry.input.equals(input)) {
+            return entry.suggestions;
+        }
+        if (!entry.narrowable || entry.truncated) {
+            return null;
+        }
+        if (!input.startsWith(entry.input) || input.indexOf(' ', entry.input.length()) != -1) {
+            return null;
+        }
+        final String word = input.substring(input.lastIndexOf(' ') + 1);
+        final List<Suggestion> narrowed = new ArrayList<>();
+        for (final Suggestion suggestion : entry.suggestions) {
+            if (suggestion.suggestion().regionMatches(true, 0, word, 0, word.length())) {
+                narrowed.add(suggestion);
+            }
+        }
+        return narrowed;
+    }
+
+    private void store(
+            final @NonNull AutocompleteKey key,
+            final @NonNull String input,
+            final @NonNull List<? extends Suggestion> list,
+            final int limit
+    ) {
+        final List<Suggestion> suggestions = new ArrayList<>(list);
+        boolean narrowable = true;
+        for (final Suggestion suggestion : suggestions) {
+            // Suggestions that span multiple words are trimmed relative to the input, so they cannot be narrowed by word.
+            if (suggestion.suggestion().indexOf(' ') != -1) {
+                narrowable = false;
+                break;
+            }
+        }
+        // Providers that honour the limit may have dropped suggestions that would match a longer input.
+        final boolean truncated = suggestions.size() >= limit;
+        final Entry entry = new Entry(input, suggestions, narrowable, truncated, this.nanoTime.getAsLong());
+        synchronized (this.lock) {
+            this.entries.put(key, entry);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String input;
+        private final List<Suggestion> suggestions;
+        private final boolean narrowable;
+        private final boolean truncated;
+        private final long createdAt;
+
+        private Entry(
+                final @NonNull String input,
+                final @NonNull List<Suggestion> suggestions,
+                final boolean narrowable,
+                final boolean truncated,
+                final long createdAt
+        ) {
+            this.input = input;
+            this.suggestions = suggestions;
+            this.narrowable = narrowable;
+            this.truncated = truncated;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.key.CloudKey;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.Suggestions;
+import org.incendo.cloud.util.StringUtils;
+
+/**
+ * Selects the suggestions that are sent to Discord as autocomplete choices.
+ *
+ * <p>Discord accepts at most {@link #MAX_CHOICES} choices. The selector trims each suggestion down to the focused option and
+ * drops the empty ones. It processes no more suggestions than it needs to fill the limit. The limit is stored in the
+ * command context under {@link #CONTEXT_SUGGESTION_LIMIT} before the suggestions are generated. Suggestion providers that
+ * produce a large number of suggestions may use it to stop early.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface SuggestionSelector {
+
+    /**
+     * The maximum number of autocomplete choices that Discord accepts.
+     */
+    int MAX_CHOICES = 25;
+
+    /**
+     * The maximum number of suggestions that will be sent to Discord for the current autocomplete interaction.
+     */
+    CloudKey<Integer> CONTEXT_SUGGESTION_LIMIT = CloudKey.of("cloud:discord_suggestion_limit", Integer.class);
+
+    /**
+     * Returns a selector that keeps the first suggestions in the order they were produced, and that stops processing
+     * once the limit has been reached.
+     *
+     * @return the selector
+     */
+    static @NonNull SuggestionSelector first() {
+        return FirstSuggestionSelector.INSTANCE;
+    }
+
+    /**
+     * Returns a selector that keeps the suggestions that rank the highest according to the given {@code comparator}.
+     *
+     * <p>Every suggestion has to be considered, but only the best {@code limit} suggestions are retained in a bounded heap,
+     * rather than sorting all of them.</p>
+     *
+     * @param comparator comparator that orders the best suggestions first
+     * @return the selector
+     */
+    static @NonNull SuggestionSelector ranked(final @NonNull Comparator<? super Suggestion> comparator) {
+        return new RankedSuggestionSelector(Objects.requireNonNull(comparator, "comparator"));
+    }
+
+    /**
+     * Returns the suggestion limit stored in the given {@code context}, or {@link #MAX_CHOICES} if none is stored.
+     *
+     * @param context command context
+     * @return the suggestion limit
+     */
+    static int limit(final @NonNull CommandContext<?> context) {
+        return context.getOrDefault(CONTEXT_SUGGESTION_LIMIT, MAX_CHOICES);
+    }
+
+    /**
+     * Trims the given {@code suggestion} down to the last word of the command input.
+     *
+     * <p>{@link DiscordOptionChoice Option choices} are returned as they are, as their name is a display name that
+     * Discord shows to the user, and their {@link DiscordOptionChoice#value() value} has to be kept.</p>
+     *
+     * @param suggestion  suggestion to trim
+     * @param suggestions the suggestions that the suggestion belongs to
+     * @return the trimmed suggestion, or {@code null} if nothing remains after trimming
+     */
+    static @Nullable Suggestion trim(final @NonNull Suggestion suggestion, final @NonNull Suggestions<?, ?> suggestions) {
+        final String value = suggestion.suggestion();
+        if (value.indexOf(' ') == -1 || suggestion instanceof DiscordOptionChoice) {
+            return value.isEmpty() ? null : suggestion;
+        }
+        final String trimmed = StringUtils.trimBeforeLastSpace(value, suggestions.commandInput());
+        if (trimmed == null || trimmed.isEmpty()) {
+            return null;
+        }
+        return suggestion.withSuggestion(trimmed);
+    }
+
+    /**
+     * Selects at most {@code limit} trimmed and non-empty suggestions from the given {@code suggestions}.
+     *
+     * @param suggestions suggestions to select from
+     * @param limit       maximum number of suggestions to select
+     * @return the selected suggestions
+     */
+    @NonNull List<@NonNull Suggestion> select(@NonNull Suggestions<?, ?> suggestions, int limit);
+}
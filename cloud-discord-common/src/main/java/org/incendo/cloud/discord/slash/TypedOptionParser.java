@@ -0,0 +1,175 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import io.leangen.geantyref.TypeToken;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.incendo.cloud.parser.ArgumentParser;
+import org.incendo.cloud.parser.ParserDescriptor;
+import org.incendo.cloud.parser.standard.NumberParser;
+import org.incendo.cloud.suggestion.SuggestionProvider;
+import org.incendo.cloud.type.range.Range;
+
+/**
+ * Parser that binds the typed option values that Discord delivered with the interaction directly, instead of parsing the
+ * serialized value again.
+ *
+ * <p>Integer, number and boolean options are delivered as typed values by Discord. The platform listeners store these
+ * in the {@link TypedOptionValues}, and this parser returns them without invoking the wrapped parser. If no typed value
+ * is available, if the value does not fit the value type or if the value is outside of the range of the wrapped
+ * {@link NumberParser}, then the wrapped parser is used.</p>
+ *
+ * @param <C> command sender type
+ * @param <T> value type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class TypedOptionParser<C, T> implements ArgumentParser.FutureArgumentParser<C, T> {
+
+    /**
+     * Returns a parser that binds typed option values directly, and falls back to the parser described by the
+     * given {@code descriptor}.
+     *
+     * @param <C>        command sender type
+     * @param <T>        value type
+     * @param descriptor descriptor of the wrapped parser
+     * @return the parser
+     */
+    public static <C, T> @NonNull ParserDescriptor<C, T> typedOptionParser(final @NonNull ParserDescriptor<C, T> descriptor) {
+        Objects.requireNonNull(descriptor, "descriptor");
+        return ParserDescriptor.of(new TypedOptionParser<>(descriptor.parser(), descriptor.valueType()), descriptor.valueType());
+    }
+
+    private final ArgumentParser<C, T> delegate;
+    private final Class<?> valueClass;
+
+    private TypedOptionParser(final @NonNull ArgumentParser<C, T> delegate, final @NonNull TypeToken<T> valueType) {
+        this.delegate = delegate;
+        this.valueClass = GenericTypeReflector.erase(GenericTypeReflector.box(valueType.getType()));
+    }
+
+    /**
+     * Returns the wrapped parser.
+     *
+     * @return the wrapped parser
+     */
+    public @NonNull ArgumentParser<C, T> delegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public @NonNull CompletableFuture<@NonNull ArgumentParseResult<T>> parseFuture(
+            final @NonNull CommandContext<@NonNull C> commandContext,
+            final @NonNull CommandInput commandInput
+    ) {
+        final TypedOptionValues values = commandContext.getOrDefault(TypedOptionValues.CONTEXT_KEY, null);
+        if (values != null && !commandInput.isEmpty(true)) {
+            final T value = this.resolve(values.get(tokenPosition(commandInput), commandInput.peekString()));
+            if (value != null) {
+                commandInput.readString();
+                return ArgumentParseResult.successFuture(value);
+            }
+        }
+        return this.delegate.parseFuture(commandContext, commandInput);
+    }
+
+    @Override
+    public @NonNull SuggestionProvider<C> suggestionProvider() {
+        return this.delegate.suggestionProvider();
+    }
+
+    /**
+     * Returns the position of the next token in the command input, skipping any leading whitespace.
+     *
+     * @param commandInput the command input
+     * @return the position of the next token
+     */
+    private static int tokenPosition(final @NonNull CommandInput commandInput) {
+        final String remainingInput = commandInput.remainingInput();
+        int offset = 0;
+        while (offset < remainingInput.length() && Character.isWhitespace(remainingInput.charAt(offset))) {
+            offset++;
+        }
+        return commandInput.cursor() + offset;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable T resolve(final @Nullable Object value) {
+        final Object converted;
+        if (value == null) {
+            return null;
+        } else if (this.valueClass.isInstance(value)) {
+            converted = value;
+        } else if (value instanceof Number) {
+            converted = this.convert((Number) value);
+        } else {
+            converted = null;
+        }
+
+        if (converted == null || !this.isWithinRange(converted)) {
+            return null;
+        }
+        return (T) converted;
+    }
+
+    private @Nullable Number convert(final @NonNull Number value) {
+        if (this.valueClass == Double.class) {
+            return value.doubleValue();
+        } else if (this.valueClass == Float.class) {
+            return value.floatValue();
+        } else if (value instanceof Double || value instanceof Float) {
+            // Decimal values are left to the wrapped parser, which produces the appropriate error.
+            return null;
+        }
+
+        final long longValue = value.longValue();
+        if (this.valueClass == Long.class) {
+            return longValue;
+        } else if (this.valueClass == Integer.class && longValue == (int) longValue) {
+            return (int) longValue;
+        } else if (this.valueClass == Short.class && longValue == (short) longValue) {
+            return (short) longValue;
+        } else if (this.valueClass == Byte.class && longValue == (byte) longValue) {
+            return (byte) longValue;
+        }
+        return null;
+    }
+
+    private boolean isWithinRange(final @NonNull Object value) {
+        if (!(this.delegate instanceof NumberParser) || !(value instanceof Number)) {
+            return true;
+        }
+        final Range<?> range = ((NumberParser<?, ?, ?>) this.delegate).range();
+        final double doubleValue = ((Number) value).doubleValue();
+        return doubleValue >= range.min().doubleValue() && doubleValue <= range.max().doubleValue();
+    }
+}
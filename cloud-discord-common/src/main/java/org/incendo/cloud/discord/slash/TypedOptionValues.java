@@ -0,0 +1,107 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.key.CloudKey;
+
+/**
+ * Typed option values that Discord delivered with an interaction, keyed by the position of the token that represents the
+ * value in the command input.
+ *
+ * <p>The values are stored in the command context by the platform listeners, and are picked up by {@link TypedOptionParser}
+ * instances, which use them instead of parsing the token again. The values are keyed by position rather than by token, so
+ * that options with the same serialized value, such as an integer {@code 5} and a number {@code 5}, do not collide.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+public final class TypedOptionValues {
+
+    /**
+     * The key used to store the values in the command context.
+     */
+    public static final CloudKey<TypedOptionValues> CONTEXT_KEY = CloudKey.of(
+            "cloud:discord_typed_option_values",
+            TypedOptionValues.class
+    );
+
+    private final Map<Integer, TypedValue> values = new HashMap<>();
+
+    /**
+     * Stores the typed {@code value} of the option that is represented by the given {@code token}, which starts at the
+     * given {@code position} in the command input.
+     *
+     * @param position position of the first character of the token in the command input
+     * @param token    the token that represents the value in the command input
+     * @param value    the typed value
+     */
+    public void put(final int position, final @NonNull String token, final @NonNull Object value) {
+        this.values.put(position, new TypedValue(
+                Objects.requireNonNull(token, "token"),
+                Objects.requireNonNull(value, "value")
+        ));
+    }
+
+    /**
+     * Returns the typed value of the token that starts at the given {@code position}, if it exists and if it is represented
+     * by the given {@code token}.
+     *
+     * @param position position of the first character of the token in the command input
+     * @param token    the token at the position
+     * @return the value, or {@code null}
+     */
+    public @Nullable Object get(final int position, final @NonNull String token) {
+        final TypedValue typedValue = this.values.get(position);
+        if (typedValue == null || !typedValue.token.equals(token)) {
+            return null;
+        }
+        return typedValue.value;
+    }
+
+    /**
+     * Returns whether there are no values.
+     *
+     * @return {@code true} if there are no values, else {@code false}
+     */
+    public boolean isEmpty() {
+        return this.values.isEmpty();
+    }
+
+    private static final class TypedValue {
+
+        private final String token;
+        private final Object value;
+
+        private TypedValue(final @NonNull String token, final @NonNull Object value) {
+            this.token = token;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class AutocompleteTrackerTest {
+
+    @Test
+    void testNewerFutureCancelsPrevious() {
+        // Arrange
+        final AutocompleteTracker tracker = new AutocompleteTracker();
+        final CompletableFuture<String> first = tracker.track(1L, "command", "option", new CompletableFuture<>());
+        final CompletableFuture<Void> dependent = first.thenAccept(result -> { });
+
+        // Act
+        final CompletableFuture<String> second = tracker.track(1L, "command", "option", new CompletableFuture<>());
+
+        // Assert
+        assertThat(first.isCancelled()).isTrue();
+        assertThat(second.isDone()).isFalse();
+        assertThat(tracker.discarded()).isEqualTo(1);
+        assertThat(tracker.inFlight()).isEqualTo(1);
+        final CompletionException exception = dependent.handle((result, throwable) -> (CompletionException) throwable).join();
+        assertThat(AutocompleteTracker.isSuperseded(exception)).isTrue();
+    }
+
+    @Test
+    void testCompletedFuturesAreNotDiscarded() {
+        // Arrange
+        final AutocompleteTracker tracker = new AutocompleteTracker();
+        final CompletableFuture<String> first = tracker.track(1L, "command", "option", new CompletableFuture<>());
+        tracker.track(2L, "command", "option", new CompletableFuture<>());
+
+        // Act
+        first.complete("value");
+        tracker.track(1L, "command", "option", new CompletableFuture<>());
+
+        // Assert
+        assertThat(tracker.discarded()).isEqualTo(0);
+        assertThat(tracker.inFlight()).isEqualTo(2);
+        assertThat(AutocompleteTracker.isSuperseded(new IllegalStateException())).isFalse();
+    }
+}
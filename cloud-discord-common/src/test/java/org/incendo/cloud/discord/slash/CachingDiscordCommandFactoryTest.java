@@ -0,0 +1,105 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.incendo.cloud.parser.standard.StringParser.stringParser;
+
+class CachingDiscordCommandFactoryTest {
+
+    private TestCommandManager commandManager;
+    private NodeProcessor<TestCommandSender> nodeProcessor;
+    private CachingDiscordCommandFactory<TestCommandSender> commandFactory;
+
+    @BeforeEach
+    void setup() {
+        final DiscordRegistrationHandler<TestCommandSender> registrationHandler = new DiscordRegistrationHandler<>();
+        this.commandManager = new TestCommandManager(registrationHandler);
+        this.nodeProcessor = new NodeProcessor<>(this.commandManager.commandTree(), registrationHandler);
+        this.commandFactory = new CachingDiscordCommandFactory<>(
+                new StandardDiscordCommandFactory<>(new StandardOptionRegistry<>()),
+                this.nodeProcessor
+        );
+    }
+
+    @Test
+    void testIdenticalSubtreesAreShared() {
+        // Arrange
+        for (int i = 0; i < 50; i++) {
+            this.commandManager.command(
+                    this.commandManager.commandBuilder("command" + i)
+                            .literal("sub")
+                            .required("string", stringParser(), DiscordChoices.strings("cat", "dog"))
+            );
+        }
+        this.nodeProcessor.prepareTree();
+
+        // Act
+        final List<DiscordCommand<TestCommandSender>> commands = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            commands.add(this.create("command" + i));
+        }
+        final DiscordCommand<TestCommandSender> again = this.create("command0");
+
+        // Assert
+        assertThat(again).isSameInstanceAs(commands.get(0));
+        for (final DiscordCommand<TestCommandSender> command : commands) {
+            assertThat(command.options().get(0)).isSameInstanceAs(commands.get(0).options().get(0));
+        }
+        // 50 distinct commands that share a single sub command, which contains a single variable.
+        assertThat(this.commandFactory.sharedInstances()).isEqualTo(52);
+    }
+
+    @Test
+    void testSharedInstancesAreReleasedOnVersionChange() {
+        // Arrange
+        this.commandManager.command(
+                this.commandManager.commandBuilder("first")
+                        .required("string", stringParser(), DiscordChoices.strings("cat", "dog"))
+        );
+        this.nodeProcessor.prepareTree();
+        final DiscordCommand<TestCommandSender> first = this.create("first");
+        this.commandManager.command(this.commandManager.commandBuilder("second"));
+        this.nodeProcessor.prepareTree();
+
+        // Act
+        final DiscordCommand<TestCommandSender> recreated = this.create("first");
+
+        // Assert
+        assertThat(recreated).isEqualTo(first);
+        assertThat(recreated).isNotSameInstanceAs(first);
+        assertThat(this.commandFactory.sharedInstances()).isEqualTo(2);
+    }
+
+    private DiscordCommand<TestCommandSender> create(final String name) {
+        return this.commandFactory.create(this.commandManager.commandTree().getNamedNode(name));
+    }
+}
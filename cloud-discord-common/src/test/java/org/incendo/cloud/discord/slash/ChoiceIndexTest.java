@@ -0,0 +1,79 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class ChoiceIndexTest {
+
+    @Test
+    void testMatchingPrefix() {
+        // Arrange
+        final ChoiceIndex<String> index = ChoiceIndex.of(DiscordChoices.<TestCommandSender>strings(
+                "Banana", "apple", "Apricot", "avocado", "cherry"
+        ).choices());
+
+        // Act
+        final List<String> matches = names(index.matching("AP", 25));
+        final List<String> limited = names(index.matching("a", 2));
+        final List<String> none = names(index.matching("z", 25));
+
+        // Assert
+        assertThat(matches).containsExactly("apple", "Apricot").inOrder();
+        assertThat(limited).containsExactly("apple", "Apricot").inOrder();
+        assertThat(none).isEmpty();
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void testLargeChoicesSuggestFromIndex() {
+        // Arrange
+        final DiscordChoices<TestCommandSender, String> choices = DiscordChoices.strings(
+                IntStream.range(0, 1000).mapToObj(i -> "value" + i).collect(Collectors.toList())
+        );
+        final CommandContext<TestCommandSender> context =
+                new CommandContext<>(new TestCommandSender() {}, new TestCommandManager());
+
+        // Act
+        final Iterable<Suggestion> suggestions = choices.suggestions(context, CommandInput.of("value99"));
+
+        // Assert
+        assertThat(suggestions).hasSize(11);
+        assertThat(choices.index()).isSameInstanceAs(choices.index());
+    }
+
+    private static List<String> names(final List<? extends DiscordOptionChoice<?>> choices) {
+        return choices.stream().map(DiscordOptionChoice::name).collect(Collectors.toList());
+    }
+}
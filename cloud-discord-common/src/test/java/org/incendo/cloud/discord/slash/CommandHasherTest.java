@@ -0,0 +1,75 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import org.incendo.cloud.description.Description;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.incendo.cloud.parser.standard.IntegerParser.integerParser;
+
+class CommandHasherTest {
+
+    @Test
+    void testEqualCommandsHaveEqualHashes() {
+        // Arrange
+        final DiscordCommand<TestCommandSender> first = this.createCommand("Description");
+        final DiscordCommand<TestCommandSender> second = this.createCommand("Description");
+
+        // Act
+        final String firstHash = CommandHasher.commandHasher().putCommand(first).hash();
+        final String secondHash = CommandHasher.commandHasher().putCommand(second).hash();
+
+        // Assert
+        assertThat(firstHash).isEqualTo(secondHash);
+    }
+
+    @Test
+    void testChangedCommandsHaveDifferentHashes() {
+        // Arrange
+        final DiscordCommand<TestCommandSender> first = this.createCommand("Description");
+        final DiscordCommand<TestCommandSender> second = this.createCommand("Another description");
+
+        // Act
+        final String firstHash = CommandHasher.commandHasher().putCommand(first).hash();
+        final String secondHash = CommandHasher.commandHasher().putCommand(second).hash();
+
+        // Assert
+        assertThat(firstHash).isNotEqualTo(secondHash);
+    }
+
+    private DiscordCommand<TestCommandSender> createCommand(final String description) {
+        final TestCommandManager commandManager = new TestCommandManager();
+        commandManager.command(
+                commandManager.commandBuilder("command")
+                        .literal("foo")
+                        .required("integer", integerParser(1, 10), Description.of(description))
+        );
+        final DiscordCommandFactory<TestCommandSender> commandFactory =
+                new StandardDiscordCommandFactory<>(new StandardOptionRegistry<>());
+        return commandFactory.create(commandManager.commandTree().getNamedNode("command"));
+    }
+}
@@ -0,0 +1,107 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.incendo.cloud.discord.slash.TypedOptionParser.typedOptionParser;
+import static org.incendo.cloud.parser.standard.IntegerParser.integerParser;
+import static org.incendo.cloud.parser.standard.StringParser.stringParser;
+
+class CommandRouteTableTest {
+
+    private TestCommandManager commandManager;
+    private CommandRouteTable<TestCommandSender> routeTable;
+
+    @BeforeEach
+    void setup() {
+        final DiscordRegistrationHandler<TestCommandSender> registrationHandler = new DiscordRegistrationHandler<>();
+        this.commandManager = new TestCommandManager(registrationHandler);
+        this.routeTable = new CommandRouteTable<>(this.commandManager.commandTree(), registrationHandler);
+    }
+
+    @Test
+    void testRoutes() {
+        // Arrange
+        this.commandManager.command(
+                this.commandManager.commandBuilder("root")
+                        .literal("group")
+                        .literal("sub")
+                        .required("first", stringParser())
+                        .optional("second", integerParser())
+        );
+        this.commandManager.command(this.commandManager.commandBuilder("root").literal("other"));
+
+        // Act
+        final CommandRoute<TestCommandSender> sub = this.routeTable.route("root group sub");
+        final CommandRoute<TestCommandSender> other = this.routeTable.route("root other");
+        final CommandRoute<TestCommandSender> group = this.routeTable.route("root group");
+
+        // Assert
+        assertThat(sub).isNotNull();
+        assertThat(sub.node().component().name()).isEqualTo("sub");
+        assertThat(sub.arguments()).containsExactly("first", "second").inOrder();
+        assertThat(sub.hasTypedOptions()).isFalse();
+        assertThat(other).isNotNull();
+        assertThat(other.arguments()).isEmpty();
+        assertThat(group).isNull();
+    }
+
+    @Test
+    void testTableIsRebuiltWhenTreeChanges() {
+        // Arrange
+        this.commandManager.command(this.commandManager.commandBuilder("first"));
+        final CommandRoute<TestCommandSender> before = this.routeTable.route("second");
+
+        // Act
+        this.commandManager.command(this.commandManager.commandBuilder("second").required("value", integerParser()));
+        final CommandRoute<TestCommandSender> after = this.routeTable.route("second");
+
+        // Assert
+        assertThat(before).isNull();
+        assertThat(after).isNotNull();
+        assertThat(after.arguments()).containsExactly("value");
+    }
+
+    @Test
+    void testTypedOptionsAreDetected() {
+        // Arrange
+        this.commandManager.command(
+                this.commandManager.commandBuilder("typed")
+                        .required("first", stringParser())
+                        .required("second", typedOptionParser(integerParser()))
+        );
+
+        // Act
+        final CommandRoute<TestCommandSender> route = this.routeTable.route("typed");
+
+        // Assert
+        assertThat(route).isNotNull();
+        assertThat(route.hasTypedOptions()).isTrue();
+    }
+}
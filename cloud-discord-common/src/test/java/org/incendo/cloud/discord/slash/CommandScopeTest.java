@@ -0,0 +1,72 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class CommandScopeTest {
+
+    @Test
+    void testGuildsAreSortedAndDistinct() {
+        // Act
+        final CommandScope.Guilds<TestCommandSender> scope =
+                (CommandScope.Guilds<TestCommandSender>) CommandScope.<TestCommandSender>guilds(3L, 1L, 3L, 2L);
+
+        // Assert
+        assertThat(scope.guildIds()).asList().containsExactly(1L, 2L, 3L).inOrder();
+        assertThat(scope.guilds()).containsExactly(1L, 2L, 3L);
+        assertThat(scope.contains(2L)).isTrue();
+        assertThat(scope.contains(4L)).isFalse();
+    }
+
+    @Test
+    void testGuildUnion() {
+        // Arrange
+        final CommandScope.Guilds<TestCommandSender> first =
+                (CommandScope.Guilds<TestCommandSender>) CommandScope.<TestCommandSender>guilds(1L, 3L, 5L);
+        final CommandScope.Guilds<TestCommandSender> second =
+                (CommandScope.Guilds<TestCommandSender>) CommandScope.<TestCommandSender>guilds(2L, 3L);
+
+        // Act
+        final CommandScope.Guilds<TestCommandSender> union = first.withGuilds(second).withGuild(4L);
+
+        // Assert
+        assertThat(union.guildIds()).asList().containsExactly(1L, 2L, 3L, 4L, 5L).inOrder();
+        assertThat(union.withGuild(first.guilds())).isSameInstanceAs(union);
+    }
+
+    @Test
+    void testGuildOverlap() {
+        // Arrange
+        final CommandScope<TestCommandSender> scope = CommandScope.guilds(1L, 3L, 5L);
+
+        // Act & Assert
+        assertThat(scope.overlaps(CommandScope.guilds(4L, 5L))).isTrue();
+        assertThat(scope.overlaps(CommandScope.guilds(2L, 4L))).isFalse();
+        assertThat(scope.overlaps(CommandScope.global())).isFalse();
+    }
+}
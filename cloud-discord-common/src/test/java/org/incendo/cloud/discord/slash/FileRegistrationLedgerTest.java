@@ -0,0 +1,102 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class FileRegistrationLedgerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRegistrationsArePersisted() throws Exception {
+        // Arrange
+        final Path path = this.directory.resolve("ledger");
+        final RegistrationLedger ledger = RegistrationLedger.file(path);
+        ledger.record(RegistrationLedger.GLOBAL_SCOPE, "global");
+        ledger.record(123L, "first");
+        ledger.record(123L, "second");
+
+        // Act
+        final RegistrationLedger reloaded = RegistrationLedger.file(path);
+
+        // Assert
+        assertThat(reloaded.isUpToDate(RegistrationLedger.GLOBAL_SCOPE, "global")).isTrue();
+        assertThat(reloaded.isUpToDate(123L, "first")).isFalse();
+        assertThat(reloaded.isUpToDate(123L, "second")).isTrue();
+        assertThat(reloaded.lastRegistration(456L)).isNull();
+    }
+
+    @Test
+    void testCorruptedLinesAreIgnored() throws Exception {
+        // Arrange
+        final Path path = this.directory.resolve("ledger");
+        Files.write(path, "123 hash 1000\n456 partial".getBytes());
+
+        // Act
+        final RegistrationLedger ledger = RegistrationLedger.file(path);
+
+        // Assert
+        assertThat(ledger.isUpToDate(123L, "hash")).isTrue();
+        assertThat(ledger.lastRegistration(456L)).isNull();
+    }
+
+    @Test
+    void testFailedWritesAreRecordedInMemory() throws Exception {
+        // Arrange
+        final RegistrationLedger ledger = RegistrationLedger.file(this.directory.resolve("missing").resolve("ledger"));
+
+        // Act
+        ledger.record(123L, "hash");
+
+        // Assert
+        assertThat(ledger.isUpToDate(123L, "hash")).isTrue();
+    }
+
+    @Test
+    void testRecordsAreFlushedAndLedgerCanBeReopened() throws Exception {
+        // Arrange
+        final Path path = this.directory.resolve("ledger");
+        final RegistrationLedger ledger = RegistrationLedger.file(path);
+        ledger.record(123L, "first");
+        final RegistrationLedger beforeClose = RegistrationLedger.file(path);
+
+        // Act
+        ledger.close();
+        ledger.record(456L, "second");
+        ledger.close();
+        final RegistrationLedger afterClose = RegistrationLedger.file(path);
+
+        // Assert
+        assertThat(beforeClose.isUpToDate(123L, "first")).isTrue();
+        assertThat(afterClose.isUpToDate(123L, "first")).isTrue();
+        assertThat(afterClose.isUpToDate(456L, "second")).isTrue();
+    }
+}
@@ -0,0 +1,124 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class NodeProcessorTest {
+
+    private TestCommandManager commandManager;
+    private NodeProcessor<TestCommandSender> nodeProcessor;
+
+    @BeforeEach
+    void setup() {
+        final DiscordRegistrationHandler<TestCommandSender> registrationHandler = new DiscordRegistrationHandler<>();
+        this.commandManager = new TestCommandManager(registrationHandler);
+        this.nodeProcessor = new NodeProcessor<>(this.commandManager.commandTree(), registrationHandler);
+    }
+
+    @Test
+    void testGlobalScopeOverridesGuildScopes() {
+        // Arrange
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command").literal("a").apply(CommandScope.guilds(1L))
+        );
+        this.commandManager.command(this.commandManager.commandBuilder("command").literal("b"));
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command").literal("c").apply(CommandScope.guilds(2L))
+        );
+
+        // Act
+        this.nodeProcessor.prepareTree();
+
+        // Assert
+        assertThat(this.scopeOf("command")).isInstanceOf(CommandScope.Global.class);
+        assertThat(this.nodeProcessor.guildIndex().hasCommands(1L)).isFalse();
+    }
+
+    @Test
+    void testOnlyChangedRootsAreProcessed() {
+        // Arrange
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command").literal("a").apply(CommandScope.guilds(1L))
+        );
+        this.nodeProcessor.prepareTree();
+        final long version = this.nodeProcessor.version();
+
+        // Act
+        this.nodeProcessor.prepareTree();
+        final long unchangedVersion = this.nodeProcessor.version();
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command").literal("b").apply(CommandScope.guilds(2L))
+        );
+        this.nodeProcessor.prepareTree();
+
+        // Assert
+        assertThat(unchangedVersion).isEqualTo(version);
+        assertThat(this.nodeProcessor.version()).isGreaterThan(version);
+        assertThat(((CommandScope.Guilds<?>) this.scopeOf("command")).guilds()).containsExactly(1L, 2L);
+        assertThat(this.nodeProcessor.guildIndex().hasCommands(2L)).isTrue();
+    }
+
+    @Test
+    void testRootNodeResolution() {
+        // Arrange
+        this.commandManager.command(this.commandManager.commandBuilder("global"));
+        this.commandManager.command(this.commandManager.commandBuilder("everywhere").apply(CommandScope.guilds()));
+        this.commandManager.command(this.commandManager.commandBuilder("b").apply(CommandScope.guilds(1L)));
+        this.commandManager.command(this.commandManager.commandBuilder("a").apply(CommandScope.guilds(1L, 2L)));
+        this.nodeProcessor.prepareTree();
+
+        // Act
+        final List<String> globalRoots = this.rootNames(CommandScope.global());
+        final List<String> firstGuildRoots = this.rootNames(CommandScope.guilds(-1L, 1L));
+        final List<String> secondGuildRoots = this.rootNames(CommandScope.guilds(-1L, 2L));
+        this.commandManager.command(this.commandManager.commandBuilder("c").apply(CommandScope.guilds(1L)));
+        this.nodeProcessor.prepareTree();
+        final List<String> updatedRoots = this.rootNames(CommandScope.guilds(-1L, 1L));
+
+        // Assert
+        assertThat(globalRoots).containsExactly("global");
+        assertThat(firstGuildRoots).containsExactly("a", "b", "everywhere").inOrder();
+        assertThat(secondGuildRoots).containsExactly("a", "everywhere").inOrder();
+        assertThat(updatedRoots).containsExactly("a", "b", "c", "everywhere").inOrder();
+    }
+
+    private List<String> rootNames(final CommandScope<TestCommandSender> scope) {
+        return this.nodeProcessor.rootNodes(scope)
+                .stream()
+                .map(rootNode -> rootNode.component().name())
+                .collect(Collectors.toList());
+    }
+
+    private CommandScope<?> scopeOf(final String rootName) {
+        return this.commandManager.commandTree().getNamedNode(rootName).nodeMeta().get(NodeProcessor.NODE_META_SCOPE);
+    }
+}
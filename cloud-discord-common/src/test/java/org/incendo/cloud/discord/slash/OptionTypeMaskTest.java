@@ -0,0 +1,45 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class OptionTypeMaskTest {
+
+    @Test
+    void testContains() {
+        // Arrange
+        final OptionTypeMask mask = OptionTypeMask.of(Arrays.asList(DiscordOptionType.STRING, DiscordOptionType.NUMBER));
+
+        // Act & Assert
+        assertThat(mask.contains(DiscordOptionType.STRING)).isTrue();
+        assertThat(mask.contains(DiscordOptionType.NUMBER.value())).isTrue();
+        assertThat(mask.contains(DiscordOptionType.INTEGER)).isFalse();
+        assertThat(mask.contains(-1)).isFalse();
+        assertThat(mask.contains(Long.SIZE)).isFalse();
+    }
+}
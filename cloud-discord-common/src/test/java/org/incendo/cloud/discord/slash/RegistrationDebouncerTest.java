@@ -0,0 +1,154 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class RegistrationDebouncerTest {
+
+    private DiscordRegistrationHandler<TestCommandSender> registrationHandler;
+    private TestCommandManager commandManager;
+    private RegistrationDebouncer<TestCommandSender> debouncer;
+
+    @BeforeEach
+    void setup() {
+        this.registrationHandler = new DiscordRegistrationHandler<>();
+        this.commandManager = new TestCommandManager(this.registrationHandler);
+    }
+
+    @AfterEach
+    void teardown() {
+        if (this.debouncer != null) {
+            this.debouncer.close();
+        }
+    }
+
+    @Test
+    void testChangesAreFlushedAsSingleBatch() throws Exception {
+        // Arrange
+        final AtomicInteger flushes = new AtomicInteger();
+        final CompletableFuture<ScopeChanges> flushed = new CompletableFuture<>();
+        this.createDebouncer(this.commandManager, rootName -> null, changes -> {
+            flushes.incrementAndGet();
+            flushed.complete(changes);
+        });
+
+        // Act
+        this.commandManager.command(this.commandManager.commandBuilder("a").apply(CommandScope.guilds(1L)));
+        this.commandManager.command(this.commandManager.commandBuilder("b").apply(CommandScope.guilds(2L)));
+        final ScopeChanges changes = flushed.get(5L, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(flushes.get()).isEqualTo(1);
+        assertThat(changes.global()).isFalse();
+        assertThat(changes.guilds().isAllGuilds()).isFalse();
+        assertThat(changes.guilds().guilds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void testDeletedRootsOnlyAffectTheirPreviousScope() throws Exception {
+        // Arrange
+        final NodeProcessor<TestCommandSender> nodeProcessor =
+                new NodeProcessor<>(this.commandManager.commandTree(), this.registrationHandler);
+        this.commandManager.command(this.commandManager.commandBuilder("a").apply(CommandScope.guilds(1L)));
+        this.commandManager.command(this.commandManager.commandBuilder("b").apply(CommandScope.guilds(2L)));
+        nodeProcessor.prepareTree();
+        final CompletableFuture<ScopeChanges> flushed = new CompletableFuture<>();
+        this.createDebouncer(this.commandManager, nodeProcessor::processedScope, flushed::complete);
+
+        // Act
+        this.commandManager.deleteRootCommand("a");
+        final ScopeChanges changes = flushed.get(5L, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(changes.global()).isFalse();
+        assertThat(changes.guilds().isAllGuilds()).isFalse();
+        assertThat(changes.guilds().guilds()).containsExactly(1L);
+    }
+
+    @Test
+    void testRemovedRootInSingleGuildOnlySchedulesThatGuild() throws Exception {
+        // Arrange
+        final NodeProcessor<TestCommandSender> nodeProcessor =
+                new NodeProcessor<>(this.commandManager.commandTree(), this.registrationHandler);
+        this.commandManager.command(this.commandManager.commandBuilder("a").apply(CommandScope.guilds(1L)));
+        this.commandManager.command(this.commandManager.commandBuilder("b").apply(CommandScope.guilds(2L)));
+        nodeProcessor.prepareTree();
+        final CompletableFuture<ScopeChanges> flushed = new CompletableFuture<>();
+        // The debouncer observes a tree without the root, as if the tree was mutated before the change is reported.
+        this.createDebouncer(new TestCommandManager(), nodeProcessor::processedScope, flushed::complete);
+
+        // Act
+        this.registrationHandler.unregisterRootCommand(this.commandManager.commandTree().getNamedNode("a").component());
+        final ScopeChanges changes = flushed.get(5L, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(changes.global()).isFalse();
+        assertThat(changes.guilds().isAllGuilds()).isFalse();
+        assertThat(changes.guilds().guilds()).containsExactly(1L);
+    }
+
+    @Test
+    void testClosedDebouncerDiscardsChanges() throws Exception {
+        // Arrange
+        final CompletableFuture<ScopeChanges> flushed = new CompletableFuture<>();
+        this.createDebouncer(this.commandManager, rootName -> null, flushed::complete);
+        this.commandManager.command(this.commandManager.commandBuilder("a").apply(CommandScope.guilds(1L)));
+
+        // Act
+        this.debouncer.close();
+        this.commandManager.command(this.commandManager.commandBuilder("b").apply(CommandScope.guilds(2L)));
+        Thread.sleep(400L);
+
+        // Assert
+        assertThat(flushed.isDone()).isFalse();
+    }
+
+    private void createDebouncer(
+            final TestCommandManager treeOwner,
+            final Function<String, CommandScope<TestCommandSender>> processedScopes,
+            final Consumer<ScopeChanges> flush
+    ) {
+        this.debouncer = new RegistrationDebouncer<>(
+                treeOwner.commandTree(),
+                this.registrationHandler,
+                processedScopes,
+                () -> true,
+                flush
+        );
+        this.debouncer.window(Duration.ofMillis(200L));
+    }
+}
@@ -0,0 +1,88 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class RegistrationSchedulerTest {
+
+    @Test
+    void testRegistrationsAreOrderedAndBounded() {
+        // Arrange
+        final RegistrationScheduler scheduler = new RegistrationScheduler(1, RegistrationScheduler.LARGEST_GUILDS_FIRST);
+        final CompletableFuture<Void> blocker = new CompletableFuture<>();
+        final List<Long> executed = new ArrayList<>();
+        scheduler.submit(RegistrationRequest.guild(1L, 10), () -> {
+            executed.add(1L);
+            return blocker;
+        });
+
+        // Act
+        scheduler.submit(RegistrationRequest.guild(2L, 5), () -> this.complete(executed, 2L));
+        scheduler.submit(RegistrationRequest.guild(3L, 50), () -> this.complete(executed, 3L));
+        scheduler.submit(RegistrationRequest.global(), () -> this.complete(executed, RegistrationLedger.GLOBAL_SCOPE));
+        final List<Long> executedBeforeCompletion = new ArrayList<>(executed);
+        blocker.complete(null);
+
+        // Assert
+        assertThat(executedBeforeCompletion).containsExactly(1L);
+        assertThat(executed).containsExactly(1L, RegistrationLedger.GLOBAL_SCOPE, 3L, 2L).inOrder();
+        assertThat(scheduler.pendingRegistrations()).isEqualTo(0);
+    }
+
+    @Test
+    void testPendingRegistrationsAreCoalesced() {
+        // Arrange
+        final RegistrationScheduler scheduler = new RegistrationScheduler(1, RegistrationScheduler.LARGEST_GUILDS_FIRST);
+        final CompletableFuture<Void> blocker = new CompletableFuture<>();
+        final List<String> executed = new ArrayList<>();
+        scheduler.submit(RegistrationRequest.guild(1L, 0), () -> blocker);
+
+        // Act
+        final CompletableFuture<Void> first = scheduler.submit(RegistrationRequest.guild(2L, 0), () -> {
+            executed.add("first");
+            return CompletableFuture.completedFuture(null);
+        });
+        final CompletableFuture<Void> second = scheduler.submit(RegistrationRequest.guild(2L, 0), () -> {
+            executed.add("second");
+            return CompletableFuture.completedFuture(null);
+        });
+        blocker.complete(null);
+
+        // Assert
+        assertThat(second).isSameInstanceAs(first);
+        assertThat(first.isDone()).isTrue();
+        assertThat(executed).containsExactly("second");
+    }
+
+    private CompletableFuture<Void> complete(final List<Long> executed, final long scope) {
+        executed.add(scope);
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,96 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.incendo.cloud.internal.CommandNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class RootNodeIndexTest {
+
+    private TestCommandManager commandManager;
+    private RootNodeIndex<TestCommandSender> rootNodeIndex;
+
+    @BeforeEach
+    void setup() {
+        this.commandManager = new TestCommandManager();
+        this.commandManager.command(this.commandManager.commandBuilder("a"));
+        this.commandManager.command(this.commandManager.commandBuilder("b"));
+        this.rootNodeIndex = new RootNodeIndex<>();
+    }
+
+    @Test
+    void testBatchIsPublishedAtOnce() {
+        // Arrange
+        final RootNodeIndex<TestCommandSender>.Batch batch = this.rootNodeIndex.batch();
+        batch.update("a", this.node("a"), CommandScope.guilds(1L, 2L));
+        batch.update("b", this.node("b"), CommandScope.guilds(1L));
+        batch.update("a", this.node("a"), CommandScope.guilds(2L));
+
+        // Act
+        final List<String> beforePublish = this.rootNames(CommandScope.guilds(1L));
+        batch.publish();
+
+        // Assert
+        assertThat(beforePublish).isEmpty();
+        assertThat(this.rootNames(CommandScope.guilds(1L))).containsExactly("b");
+        assertThat(this.rootNames(CommandScope.guilds(2L))).containsExactly("a");
+    }
+
+    @Test
+    void testRebuildDropsStaleRoots() {
+        // Arrange
+        final RootNodeIndex<TestCommandSender>.Batch batch = this.rootNodeIndex.batch();
+        batch.update("a", this.node("a"), CommandScope.guilds(1L));
+        batch.update("b", this.node("b"), CommandScope.global());
+        batch.publish();
+
+        // Act
+        final RootNodeIndex<TestCommandSender>.Batch rebuild = this.rootNodeIndex.rebuild();
+        rebuild.update("b", this.node("b"), CommandScope.guilds(2L));
+        rebuild.publish();
+
+        // Assert
+        assertThat(this.rootNames(CommandScope.guilds(1L))).isEmpty();
+        assertThat(this.rootNames(CommandScope.global())).isEmpty();
+        assertThat(this.rootNames(CommandScope.guilds(2L))).containsExactly("b");
+    }
+
+    private CommandNode<TestCommandSender> node(final String name) {
+        return this.commandManager.commandTree().getNamedNode(name);
+    }
+
+    private List<String> rootNames(final CommandScope<TestCommandSender> scope) {
+        return this.rootNodeIndex.rootNodes(scope)
+                .stream()
+                .map(rootNode -> rootNode.component().name())
+                .collect(Collectors.toList());
+    }
+}
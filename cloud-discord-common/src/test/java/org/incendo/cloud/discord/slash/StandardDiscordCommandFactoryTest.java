@@ -23,7 +23,10 @@
 //
 package org.incendo.cloud.discord.slash;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.description.Description;
@@ -201,6 +204,24 @@ class StandardDiscordCommandFactoryTest {
         );
     }
 
+    @Test
+    void testLargeChoicesUseAutocomplete() {
+        // Arrange
+        final List<String> values = IntStream.range(0, 100).mapToObj(i -> "value" + i).collect(Collectors.toList());
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command").required("string", stringParser(), DiscordChoices.strings(values))
+        );
+
+        // Act
+        final DiscordCommand<TestCommandSender> command =
+                this.commandFactory.create(this.commandManager.commandTree().getNamedNode("command"));
+
+        // Assert
+        final DiscordOption.Variable<?> option = (DiscordOption.Variable<?>) command.options().get(0);
+        assertThat(option.choices()).isEmpty();
+        assertThat(option.autocomplete()).isTrue();
+    }
+
 
     private static final class TestAggregateObject {
 
@@ -26,7 +26,9 @@ package org.incendo.cloud.discord.slash;
 import io.leangen.geantyref.TypeToken;
 import java.util.stream.Stream;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.parser.standard.LongParser;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -60,4 +62,33 @@ class StandardOptionRegistryTest {
                 Arguments.arguments(Double.class, DiscordOptionType.NUMBER)
         );
     }
+
+    @Test
+    void testLookups() {
+        // Act
+        final DiscordOptionType<?> byValue = this.optionRegistry.getByValue(DiscordOptionType.NUMBER.value());
+        final DiscordOptionType<?> byName = this.optionRegistry.getByName("boolean");
+        final DiscordOptionType<?> unknownValue = this.optionRegistry.getByValue(100);
+        final DiscordOptionType<?> unknownName = this.optionRegistry.getByName("unknown");
+
+        // Assert
+        assertThat(byValue).isEqualTo(DiscordOptionType.NUMBER);
+        assertThat(byName).isEqualTo(DiscordOptionType.BOOLEAN);
+        assertThat(unknownValue).isNull();
+        assertThat(unknownName).isNull();
+    }
+
+    @Test
+    void testRegistrationInvalidatesCachedOptions() {
+        // Arrange
+        final DiscordOptionType<?> before = this.optionRegistry.getOption(TypeToken.get(long.class));
+
+        // Act
+        this.optionRegistry.registerMapping(DiscordOptionType.INTEGER, LongParser.longParser());
+        final DiscordOptionType<?> after = this.optionRegistry.getOption(TypeToken.get(long.class));
+
+        // Assert
+        assertThat(before).isEqualTo(DiscordOptionType.STRING);
+        assertThat(after).isEqualTo(DiscordOptionType.INTEGER);
+    }
 }
@@ -0,0 +1,163 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.Suggestions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class SuggestionCacheTest {
+
+    private final AtomicLong time = new AtomicLong();
+    private final AtomicInteger generations = new AtomicInteger();
+
+    private CommandContext<TestCommandSender> commandContext;
+    private SuggestionCache cache;
+
+    @BeforeEach
+    void setup() {
+        this.commandContext = new CommandContext<>(new TestCommandSender() {}, new TestCommandManager());
+        this.cache = new SuggestionCache(2, Duration.ofSeconds(10), this.time::get);
+    }
+
+    @Test
+    void testNarrowsCachedPrefix() {
+        // Arrange
+        this.suggest(1L, "command ");
+
+        // Act
+        final List<String> narrowed = this.suggest(1L, "command AP");
+
+        // Assert
+        assertThat(narrowed).containsExactly("apple", "apricot");
+        assertThat(this.generations.get()).isEqualTo(1);
+        assertThat(this.cache.hits()).isEqualTo(1);
+        assertThat(this.cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void testDifferentUsersAndShorterInputMiss() {
+        // Arrange
+        this.suggest(1L, "command ap");
+
+        // Act
+        this.suggest(2L, "command ap");
+        this.suggest(1L, "command a");
+
+        // Assert
+        assertThat(this.generations.get()).isEqualTo(3);
+        assertThat(this.cache.hits()).isEqualTo(0);
+        assertThat(this.cache.misses()).isEqualTo(3);
+    }
+
+    @Test
+    void testEntriesExpire() {
+        // Arrange
+        this.suggest(1L, "command ");
+        this.time.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        this.suggest(1L, "command a");
+
+        // Assert
+        assertThat(this.generations.get()).isEqualTo(2);
+        assertThat(this.cache.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        // Arrange
+        this.suggest(1L, "command ");
+        this.suggest(2L, "command ");
+        this.suggest(3L, "command ");
+
+        // Act
+        this.suggest(1L, "command ");
+
+        // Assert
+        assertThat(this.generations.get()).isEqualTo(4);
+    }
+
+    @Test
+    void testTruncatedListsAreNotNarrowed() {
+        // Arrange
+        this.commandContext.store(SuggestionSelector.CONTEXT_SUGGESTION_LIMIT, 2);
+        final List<String> truncated = this.suggestLimited("command ");
+
+        // Act
+        final List<String> narrowed = this.suggestLimited("command av");
+
+        // Assert
+        assertThat(truncated).containsExactly("apple", "apricot");
+        assertThat(narrowed).containsExactly("avocado");
+        assertThat(this.generations.get()).isEqualTo(2);
+        assertThat(this.cache.hits()).isEqualTo(0);
+    }
+
+    private List<String> suggest(final long user, final String input) {
+        return this.cache.suggest(user, "command", "fruit", input, this.commandContext, () -> {
+            this.generations.incrementAndGet();
+            return CompletableFuture.completedFuture(Suggestions.create(
+                    this.commandContext,
+                    Arrays.asList(
+                            Suggestion.suggestion("apple"),
+                            Suggestion.suggestion("apricot"),
+                            Suggestion.suggestion("banana")
+                    ),
+                    CommandInput.of(input)
+            ));
+        }).join().list().stream().map(Suggestion::suggestion).collect(Collectors.toList());
+    }
+
+    private List<String> suggestLimited(final String input) {
+        return this.cache.suggest(1L, "command", "fruit", input, this.commandContext, () -> {
+            this.generations.incrementAndGet();
+            final String word = input.substring(input.lastIndexOf(' ') + 1);
+            return CompletableFuture.completedFuture(Suggestions.create(
+                    this.commandContext,
+                    Stream.of("apple", "apricot", "avocado", "banana")
+                            .filter(fruit -> fruit.startsWith(word))
+                            .limit(SuggestionSelector.limit(this.commandContext))
+                            .map(Suggestion::suggestion)
+                            .collect(Collectors.toList()),
+                    CommandInput.of(input)
+            ));
+        }).join().list().stream().map(Suggestion::suggestion).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,129 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.Suggestions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class SuggestionSelectorTest {
+
+    private CommandContext<TestCommandSender> commandContext;
+
+    @BeforeEach
+    void setup() {
+        this.commandContext = new CommandContext<>(new TestCommandSender() {}, new TestCommandManager());
+    }
+
+    @Test
+    void testFirstStopsAtLimit() {
+        // Arrange
+        final List<Suggestion> list = new ArrayList<>();
+        list.add(Suggestion.suggestion(""));
+        for (int i = 0; i < 100; i++) {
+            list.add(Suggestion.suggestion("value" + i));
+        }
+        final Suggestions<TestCommandSender, Suggestion> suggestions = Suggestions.create(
+                this.commandContext,
+                list,
+                CommandInput.of("command ")
+        );
+
+        // Act
+        final List<String> selected = values(SuggestionSelector.first().select(suggestions, SuggestionSelector.MAX_CHOICES));
+
+        // Assert
+        assertThat(selected).hasSize(SuggestionSelector.MAX_CHOICES);
+        assertThat(selected.get(0)).isEqualTo("value0");
+        assertThat(selected.get(24)).isEqualTo("value24");
+    }
+
+    @Test
+    void testRankedKeepsBestSuggestions() {
+        // Arrange
+        final List<Suggestion> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(Suggestion.suggestion(String.valueOf((i * 37) % 100)));
+        }
+        final Suggestions<TestCommandSender, Suggestion> suggestions = Suggestions.create(
+                this.commandContext,
+                list,
+                CommandInput.of("command ")
+        );
+        final SuggestionSelector selector = SuggestionSelector.ranked(
+                Comparator.comparingInt(suggestion -> Integer.parseInt(suggestion.suggestion()))
+        );
+
+        // Act
+        final List<String> selected = values(selector.select(suggestions, 3));
+
+        // Assert
+        assertThat(selected).containsExactly("0", "1", "2").inOrder();
+    }
+
+    @Test
+    void testOptionChoicesKeepTheirValue() {
+        // Arrange
+        final List<Suggestion> list = new ArrayList<>();
+        list.add(DiscordOptionChoice.of("Red Apple", 1L));
+        list.add(Suggestion.suggestion("command banana"));
+        final Suggestions<TestCommandSender, Suggestion> suggestions = Suggestions.create(
+                this.commandContext,
+                list,
+                CommandInput.of("command ")
+        );
+
+        // Act
+        final List<Suggestion> selected = SuggestionSelector.first().select(suggestions, SuggestionSelector.MAX_CHOICES);
+
+        // Assert
+        assertThat(values(selected)).containsExactly("Red Apple", "banana").inOrder();
+        assertThat(DiscordOptionChoice.choiceValue(selected.get(0))).isEqualTo(1L);
+        assertThat(DiscordOptionChoice.choiceValue(selected.get(1))).isEqualTo("banana");
+        assertThat(DiscordOptionChoice.choiceValue(list.get(0).withSuggestion("Apple"))).isEqualTo(1L);
+    }
+
+    @Test
+    void testLimitDefaultsToMaxChoices() {
+        // Act & Assert
+        assertThat(SuggestionSelector.limit(this.commandContext)).isEqualTo(SuggestionSelector.MAX_CHOICES);
+        this.commandContext.store(SuggestionSelector.CONTEXT_SUGGESTION_LIMIT, 5);
+        assertThat(SuggestionSelector.limit(this.commandContext)).isEqualTo(5);
+    }
+
+    private static List<String> values(final List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::suggestion).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,110 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.slash;
+
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.discord.util.TestCommandManager;
+import org.incendo.cloud.discord.util.TestCommandSender;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.incendo.cloud.parser.ArgumentParser;
+import org.incendo.cloud.parser.ParserDescriptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.incendo.cloud.parser.standard.IntegerParser.integerParser;
+
+class TypedOptionParserTest {
+
+    private CommandContext<TestCommandSender> commandContext;
+    private ArgumentParser<TestCommandSender, Integer> parser;
+
+    @BeforeEach
+    void setup() {
+        this.commandContext = new CommandContext<>(new TestCommandSender() {}, new TestCommandManager());
+        this.parser = TypedOptionParser.typedOptionParser(integerParser(0, 10)).parser();
+    }
+
+    @Test
+    void testTypedValueIsBound() {
+        // Arrange
+        final TypedOptionValues values = new TypedOptionValues();
+        values.put(0, "5", 5L);
+        this.commandContext.store(TypedOptionValues.CONTEXT_KEY, values);
+        final CommandInput commandInput = CommandInput.of("5 remaining");
+
+        // Act
+        final ArgumentParseResult<Integer> result = this.parser.parseFuture(this.commandContext, commandInput).join();
+
+        // Assert
+        assertThat(result.parsedValue()).hasValue(5);
+        assertThat(commandInput.remainingInput()).isEqualTo("remaining");
+    }
+
+    @Test
+    void testFallbackToWrappedParser() {
+        // Arrange
+        final TypedOptionValues values = new TypedOptionValues();
+        values.put(0, "50", 50L);
+        this.commandContext.store(TypedOptionValues.CONTEXT_KEY, values);
+
+        // Act
+        final ArgumentParseResult<Integer> withoutValue = this.parser.parseFuture(
+                this.commandContext,
+                CommandInput.of("7")
+        ).join();
+        final ArgumentParseResult<Integer> outOfRange = this.parser.parseFuture(
+                this.commandContext,
+                CommandInput.of("50")
+        ).join();
+
+        // Assert
+        assertThat(withoutValue.parsedValue()).hasValue(7);
+        assertThat(outOfRange.failure()).isPresent();
+    }
+
+    @Test
+    void testEqualTokensAreKeyedByPosition() {
+        // Arrange
+        final ArgumentParser<TestCommandSender, Long> parser = TypedOptionParser.typedOptionParser(ParserDescriptor.of(
+                (ArgumentParser<TestCommandSender, Long>) (context, input) ->
+                        ArgumentParseResult.failure(new IllegalStateException()),
+                Long.class
+        )).parser();
+        final TypedOptionValues values = new TypedOptionValues();
+        values.put(0, "5", 5.0D);
+        values.put(2, "5", 5L);
+        this.commandContext.store(TypedOptionValues.CONTEXT_KEY, values);
+        final CommandInput commandInput = CommandInput.of("5 5");
+        commandInput.readString();
+
+        // Act
+        final ArgumentParseResult<Long> result = parser.parseFuture(this.commandContext, commandInput).join();
+
+        // Assert
+        assertThat(result.parsedValue()).hasValue(5L);
+        assertThat(commandInput.isEmpty()).isTrue();
+    }
+}
@@ -27,8 +27,10 @@ import discord4j.discordjson.json.ApplicationCommandRequest;
 import java.util.List;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.discord.slash.CommandScope;
 import org.incendo.cloud.discord.slash.CommandScopePredicate;
+import org.incendo.cloud.discord.slash.GuildIndex;
 
 @API(status = API.Status.STABLE, since = "1.0.0")
 public interface Discord4JCommandFactory<C> {
@@ -41,6 +43,46 @@ public interface Discord4JCommandFactory<C> {
      */
     @NonNull List<@NonNull ApplicationCommandRequest> createCommands(@NonNull CommandScope<C> scope);
 
+    /**
+     * Returns the content hash of the commands that {@link #createCommands(CommandScope)} creates for the given
+     * {@code scope}.
+     *
+     * <p>The hash is used to skip registrations that would not change the commands known to Discord. Implementations
+     * that are unable to compute a hash may return {@code null}, in which case the commands are always registered.</p>
+     *
+     * @param scope current scope
+     * @return the content hash, or {@code null}
+     * @see org.incendo.cloud.discord.slash.CommandHasher
+     */
+    default @Nullable String commandHash(final @NonNull CommandScope<C> scope) {
+        return null;
+    }
+
+    /**
+     * Returns the index of the guilds that have guild-scoped commands.
+     *
+     * <p>Guild command registrations are skipped for guilds that are not part of the index. Implementations that are unable
+     * to determine the scoped guilds should return {@link GuildIndex#allGuilds()}.</p>
+     *
+     * @return the guild index
+     */
+    default @NonNull GuildIndex guildIndex() {
+        return GuildIndex.allGuilds();
+    }
+
+    /**
+     * Returns the scope that the root command with the given {@code rootName} had when the commands were last created.
+     *
+     * <p>This is used to determine which scopes are affected when a root command is removed. Implementations that do not
+     * keep track of the scopes should return {@code null}, in which case all scopes are considered to be affected.</p>
+     *
+     * @param rootName name of the root command
+     * @return the scope, or {@code null} if unknown
+     */
+    default @Nullable CommandScope<C> processedScope(final @NonNull String rootName) {
+        return null;
+    }
+
     /**
      * Sets the command scope predicate of the instance.
      *
@@ -24,16 +24,26 @@
 package org.incendo.cloud.discord.discord4j;
 
 import discord4j.core.GatewayDiscordClient;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.discord.slash.AutocompleteTracker;
+import org.incendo.cloud.discord.slash.CommandRouteTable;
+import org.incendo.cloud.discord.slash.DiscordRegistrationHandler;
 import org.incendo.cloud.discord.slash.DiscordSetting;
+import org.incendo.cloud.discord.slash.RegistrationDebouncer;
+import org.incendo.cloud.discord.slash.RegistrationLedger;
+import org.incendo.cloud.discord.slash.RegistrationScheduler;
+import org.incendo.cloud.discord.slash.ScopeChanges;
+import org.incendo.cloud.discord.slash.SuggestionCache;
+import org.incendo.cloud.discord.slash.SuggestionSelector;
 import org.incendo.cloud.execution.ExecutionCoordinator;
-import org.incendo.cloud.internal.CommandRegistrationHandler;
 import org.incendo.cloud.key.CloudKey;
 import org.incendo.cloud.setting.Configurable;
 import org.slf4j.Logger;
@@ -47,7 +57,7 @@ import reactor.core.publisher.Mono;
  * @since 1.0.0
  */
 @API(status = API.Status.STABLE, since = "1.0.0")
-public class Discord4JCommandManager<C> extends CommandManager<C> {
+public class Discord4JCommandManager<C> extends CommandManager<C> implements AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Discord4JCommandManager.class);
 
@@ -58,9 +68,18 @@ public class Discord4JCommandManager<C> extends CommandManager<C> {
 
     private final Discord4JInteraction.InteractionMapper<C> senderMapper;
     private final Configurable<DiscordSetting> discordSettings = Configurable.enumConfigurable(DiscordSetting.class);
+    private final RegistrationDebouncer<C> registrationDebouncer;
+    private final CommandRouteTable<C> routeTable;
+    private final AutocompleteTracker autocompleteTracker = new AutocompleteTracker();
+    private RegistrationLedger registrationLedger = RegistrationLedger.inMemory();
+    private RegistrationScheduler registrationScheduler = RegistrationScheduler.create();
+    private SuggestionSelector suggestionSelector = SuggestionSelector.first();
+    private @Nullable SuggestionCache suggestionCache;
 
     private Discord4JCommandFactory<C> commandFactory;
     private BiPredicate<C, String> permissionPredicate;
+    private volatile @Nullable GatewayDiscordClient gateway;
+    private volatile @Nullable Discord4JEventListener<C> eventListener;
 
     /**
      * Creates a new command manager.
@@ -72,8 +91,24 @@ public class Discord4JCommandManager<C> extends CommandManager<C> {
             final @NonNull ExecutionCoordinator<C> executionCoordinator,
             final Discord4JInteraction.@NonNull InteractionMapper<C> senderMapper
     ) {
-        super(executionCoordinator, CommandRegistrationHandler.nullCommandRegistrationHandler());
-        this.commandFactory = new StandardDiscord4JCommandFactory<>(this);
+        this(executionCoordinator, senderMapper, new DiscordRegistrationHandler<>());
+    }
+
+    private Discord4JCommandManager(
+            final @NonNull ExecutionCoordinator<C> executionCoordinator,
+            final Discord4JInteraction.@NonNull InteractionMapper<C> senderMapper,
+            final @NonNull DiscordRegistrationHandler<C> registrationHandler
+    ) {
+        super(executionCoordinator, registrationHandler);
+        this.commandFactory = new StandardDiscord4JCommandFactory<>(this, registrationHandler);
+        this.routeTable = new CommandRouteTable<>(this.commandTree(), registrationHandler);
+        this.registrationDebouncer = new RegistrationDebouncer<>(
+                this.commandTree(),
+                registrationHandler,
+                rootName -> this.commandFactory.processedScope(rootName),
+                () -> this.discordSettings.get(DiscordSetting.REGISTER_ON_CHANGE),
+                this::registerChanges
+        );
         this.permissionPredicate = (sender, permission) -> true;
         this.senderMapper = Objects.requireNonNull(senderMapper, "senderMapper");
 
@@ -147,6 +182,8 @@ public class Discord4JCommandManager<C> extends CommandManager<C> {
     public final @NonNull Mono<Void> installEventListener(final @NonNull GatewayDiscordClient gateway) {
         Objects.requireNonNull(gateway, "gateway");
         final Discord4JEventListener<C> eventListener = new Discord4JEventListener<>(this);
+        this.gateway = gateway;
+        this.eventListener = eventListener;
         return eventListener.install(gateway);
     }
 
@@ -159,6 +196,144 @@ public class Discord4JCommandManager<C> extends CommandManager<C> {
         return this.discordSettings;
     }
 
+    /**
+     * Returns the ledger that keeps track of the commands that have been registered to Discord.
+     *
+     * @return the registration ledger
+     */
+    public final @NonNull RegistrationLedger registrationLedger() {
+        return this.registrationLedger;
+    }
+
+    /**
+     * Sets the ledger that keeps track of the commands that have been registered to Discord.
+     *
+     * <p>Use a persistent ledger, such as {@link RegistrationLedger#file(java.nio.file.Path)}, to avoid pushing unchanged
+     * commands when the bot restarts.</p>
+     *
+     * @param registrationLedger registration ledger
+     */
+    public final void registrationLedger(final @NonNull RegistrationLedger registrationLedger) {
+        this.registrationLedger = Objects.requireNonNull(registrationLedger, "registrationLedger");
+    }
+
+    /**
+     * Returns the scheduler that executes the command registrations.
+     *
+     * @return the registration scheduler
+     */
+    public final @NonNull RegistrationScheduler registrationScheduler() {
+        return this.registrationScheduler;
+    }
+
+    /**
+     * Sets the scheduler that executes the command registrations.
+     *
+     * @param registrationScheduler registration scheduler
+     */
+    public final void registrationScheduler(final @NonNull RegistrationScheduler registrationScheduler) {
+        this.registrationScheduler = Objects.requireNonNull(registrationScheduler, "registrationScheduler");
+    }
+
+    /**
+     * Returns the selector that picks the autocomplete choices from the generated suggestions.
+     *
+     * @return the suggestion selector
+     */
+    public final @NonNull SuggestionSelector suggestionSelector() {
+        return this.suggestionSelector;
+    }
+
+    /**
+     * Sets the selector that picks the autocomplete choices from the generated suggestions.
+     *
+     * @param suggestionSelector suggestion selector
+     */
+    public final void suggestionSelector(final @NonNull SuggestionSelector suggestionSelector) {
+        this.suggestionSelector = Objects.requireNonNull(suggestionSelector, "suggestionSelector");
+    }
+
+    /**
+     * Returns the cache that reuses the suggestions of previous autocomplete interactions, if enabled.
+     *
+     * @return the suggestion cache, or {@code null} if the suggestions are not cached
+     */
+    public final @Nullable SuggestionCache suggestionCache() {
+        return this.suggestionCache;
+    }
+
+    /**
+     * Sets the cache that reuses the suggestions of previous autocomplete interactions.
+     *
+     * <p>The suggestions are not cached by default. See {@link SuggestionCache} for the behavior of the cache.</p>
+     *
+     * @param suggestionCache the suggestion cache, or {@code null} to disable caching
+     */
+    public final void suggestionCache(final @Nullable SuggestionCache suggestionCache) {
+        this.suggestionCache = suggestionCache;
+    }
+
+    /**
+     * Returns the tracker that cancels autocomplete suggestions once a newer interaction supersedes them.
+     *
+     * @return the autocomplete tracker
+     */
+    public final @NonNull AutocompleteTracker autocompleteTracker() {
+        return this.autocompleteTracker;
+    }
+
+    /**
+     * Returns the window used to debounce re-registrations when {@link DiscordSetting#REGISTER_ON_CHANGE} is enabled.
+     *
+     * @return the re-registration window
+     */
+    public final @NonNull Duration reregistrationWindow() {
+        return this.registrationDebouncer.window();
+    }
+
+    /**
+     * Sets the window used to debounce re-registrations when {@link DiscordSetting#REGISTER_ON_CHANGE} is enabled.
+     *
+     * <p>Changes to the command tree are collected until no changes have been made for the duration of the window, after
+     * which the commands are registered once per affected scope.</p>
+     *
+     * @param window the re-registration window
+     */
+    public final void reregistrationWindow(final @NonNull Duration window) {
+        this.registrationDebouncer.window(window);
+    }
+
+    /**
+     * Closes the command manager by stopping the debouncer of {@link DiscordSetting#REGISTER_ON_CHANGE re-registrations}.
+     * Changes to the command tree are no longer registered to Discord afterwards.
+     *
+     * <p>The {@link #registrationLedger()} is not closed, as it is owned by the caller.</p>
+     */
+    @Override
+    public void close() {
+        this.registrationDebouncer.close();
+    }
+
+    /**
+     * Returns the table that maps full slash command paths to their routes.
+     *
+     * @return the route table
+     */
+    @NonNull CommandRouteTable<C> routeTable() {
+        return this.routeTable;
+    }
+
+    private void registerChanges(final @NonNull ScopeChanges changes) {
+        final GatewayDiscordClient gateway = this.gateway;
+        final Discord4JEventListener<C> eventListener = this.eventListener;
+        if (gateway == null || eventListener == null) {
+            // The commands will be registered once the event listener has been installed.
+            return;
+        }
+        eventListener.registerChanges(gateway, changes)
+                .subscribe(null, error -> LOGGER.error("Failed to register changed commands", error));
+    }
+
     private void registerDefaultExceptionHandlers() {
         final BiConsumer<CommandContext<C>, String> sendMessage = (context, message) -> {
             final Discord4JInteraction interaction = context.get(CONTEXT_DISCORD4J_INTERACTION);
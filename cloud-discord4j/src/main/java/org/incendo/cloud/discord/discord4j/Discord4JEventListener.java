@@ -23,6 +23,7 @@
 //
 package org.incendo.cloud.discord.discord4j;
 
+import discord4j.common.util.Snowflake;
 import discord4j.core.GatewayDiscordClient;
 import discord4j.core.event.domain.guild.GuildCreateEvent;
 import discord4j.core.event.domain.interaction.ChatInputAutoCompleteEvent;
@@ -32,21 +33,36 @@ import discord4j.core.object.command.ApplicationCommandInteraction;
 import discord4j.core.object.command.ApplicationCommandInteractionOption;
 import discord4j.core.object.command.ApplicationCommandInteractionOptionValue;
 import discord4j.core.object.command.ApplicationCommandOption;
+import discord4j.core.object.entity.Guild;
 import discord4j.discordjson.json.ApplicationCommandOptionChoiceData;
 import discord4j.discordjson.json.ImmutableApplicationCommandOptionChoiceData;
 import discord4j.rest.RestClient;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.context.CommandContextFactory;
 import org.incendo.cloud.context.StandardCommandContextFactory;
+import org.incendo.cloud.discord.slash.AutocompleteTracker;
+import org.incendo.cloud.discord.slash.CommandRoute;
 import org.incendo.cloud.discord.slash.CommandScope;
-import org.incendo.cloud.util.StringUtils;
+import org.incendo.cloud.discord.slash.DiscordOptionChoice;
+import org.incendo.cloud.discord.slash.GuildIndex;
+import org.incendo.cloud.discord.slash.RegistrationLedger;
+import org.incendo.cloud.discord.slash.RegistrationRequest;
+import org.incendo.cloud.discord.slash.ScopeChanges;
+import org.incendo.cloud.discord.slash.SuggestionCache;
+import org.incendo.cloud.discord.slash.SuggestionSelector;
+import org.incendo.cloud.discord.slash.TypedOptionValues;
+import org.incendo.cloud.suggestion.Suggestions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @API(status = API.Status.INTERNAL, since = "1.0.0")
@@ -71,46 +87,138 @@ final class Discord4JEventListener<C> {
     }
 
     private @NonNull Mono<?> handleReadyEvent(final @NonNull ReadyEvent event) {
-        final RestClient restClient = event.getClient().getRestClient();
-        return restClient.getApplicationId().flatMap(applicationId ->
-                restClient.getApplicationService()
-                        .bulkOverwriteGlobalApplicationCommand(
-                                applicationId,
-                                this.commandManager.commandFactory().createCommands(CommandScope.global())
-                        ).then()
-        );
+        return this.registerGlobalCommands(event.getClient().getRestClient());
     }
 
     private @NonNull Mono<?> handleGuildCreateEvent(final @NonNull GuildCreateEvent event) {
-        final RestClient restClient = event.getClient().getRestClient();
-        final long guildId = event.getGuild().getId().asLong();
-        return restClient.getApplicationId().flatMap(applicationId ->
-                restClient.getApplicationService()
-                        .bulkOverwriteGuildApplicationCommand(
-                                applicationId,
-                                guildId,
-                                this.commandManager.commandFactory().createCommands(CommandScope.guilds(-1, guildId))
-                        ).then()
+        return this.registerGuildCommands(
+                event.getClient().getRestClient(),
+                event.getGuild().getId().asLong(),
+                event.getGuild().getMemberCount()
         );
     }
 
+    /**
+     * Registers the commands for the scopes that were affected by changes to the command tree.
+     *
+     * @param gateway gateway instance
+     * @param changes the affected scopes
+     * @return mono that completes when the commands have been registered
+     */
+    @NonNull Mono<Void> registerChanges(final @NonNull GatewayDiscordClient gateway, final @NonNull ScopeChanges changes) {
+        final RestClient restClient = gateway.getRestClient();
+        final Mono<?> global = changes.global() ? this.registerGlobalCommands(restClient) : Mono.empty();
+
+        final Flux<Guild> guilds;
+        if (changes.guilds().isAllGuilds()) {
+            guilds = gateway.getGuilds();
+        } else {
+            guilds = Flux.fromIterable(changes.guilds().guilds())
+                    .flatMap(guildId -> gateway.getGuildById(Snowflake.of(guildId)).onErrorResume(error -> Mono.empty()));
+        }
+
+        return global.then(guilds.flatMap(guild -> this.registerGuildCommands(
+                restClient,
+                guild.getId().asLong(),
+                guild.getMemberCount()
+        )).then());
+    }
+
+    private @NonNull Mono<?> registerGlobalCommands(final @NonNull RestClient restClient) {
+        return this.schedule(RegistrationRequest.global(), () -> {
+            final CommandScope<C> scope = CommandScope.global();
+            final String hash = this.commandManager.commandFactory().commandHash(scope);
+            if (hash != null && this.commandManager.registrationLedger().isUpToDate(RegistrationLedger.GLOBAL_SCOPE, hash)) {
+                return Mono.empty();
+            }
+
+            return restClient.getApplicationId().flatMap(applicationId ->
+                    restClient.getApplicationService()
+                            .bulkOverwriteGlobalApplicationCommand(
+                                    applicationId,
+                                    this.commandManager.commandFactory().createCommands(scope)
+                            ).then()
+            ).then(this.recordRegistration(RegistrationLedger.GLOBAL_SCOPE, hash));
+        });
+    }
+
+    private @NonNull Mono<?> registerGuildCommands(
+            final @NonNull RestClient restClient,
+            final long guildId,
+            final int memberCount
+    ) {
+        final GuildIndex guildIndex = this.commandManager.commandFactory().guildIndex();
+        if (!guildIndex.shouldRegister(guildId, this.commandManager.registrationLedger())) {
+            return Mono.empty();
+        }
+
+        final RegistrationRequest request = RegistrationRequest.guild(guildId, memberCount);
+        return this.schedule(request, () -> {
+            final CommandScope<C> scope = CommandScope.guilds(-1, guildId);
+            final String hash = this.commandManager.commandFactory().commandHash(scope);
+            if (hash != null && this.commandManager.registrationLedger().isUpToDate(guildId, hash)) {
+                return Mono.empty();
+            }
+
+            return restClient.getApplicationId().flatMap(applicationId ->
+                    restClient.getApplicationService()
+                            .bulkOverwriteGuildApplicationCommand(
+                                    applicationId,
+                                    guildId,
+                                    this.commandManager.commandFactory().createCommands(scope)
+                            ).then()
+            ).then(this.recordRegistration(guildId, hash));
+        });
+    }
+
+    /**
+     * Submits the registration to the {@link Discord4JCommandManager#registrationScheduler()}.
+     *
+     * @param request      the request
+     * @param registration supplier of the registration, which is subscribed to once the registration is scheduled
+     * @return mono that completes when the registration is done
+     */
+    private @NonNull Mono<Void> schedule(
+            final @NonNull RegistrationRequest request,
+            final @NonNull Supplier<@NonNull Mono<?>> registration
+    ) {
+        return Mono.defer(() -> Mono.fromFuture(
+                this.commandManager.registrationScheduler().submit(request, () -> registration.get().toFuture())
+        ));
+    }
+
+    private @NonNull Mono<Void> recordRegistration(final long scope, final @Nullable String hash) {
+        return Mono.fromRunnable(() -> {
+            if (hash != null) {
+                this.commandManager.registrationLedger().record(scope, hash);
+            }
+        });
+    }
+
     private @NonNull Mono<?> handleChatInputInteractionEvent(final @NonNull ChatInputInteractionEvent event) {
         return Mono.fromFuture(event.getInteraction().getCommandInteraction().map(interaction -> {
             final Discord4JInteraction discord4JInteraction = Discord4JInteraction.builder()
                     .commandInteraction(interaction)
                     .interactionEvent(event)
                     .build();
+            final TypedOptionValues typedOptionValues = new TypedOptionValues();
+            final String commandName = this.extractCommandName(interaction, null, typedOptionValues);
             return this.commandManager.commandExecutor().executeCommand(
                     this.commandManager.senderMapper().map(discord4JInteraction),
-                    this.extractCommandName(interaction),
-                    context -> context.store(Discord4JCommandManager.CONTEXT_DISCORD4J_INTERACTION, discord4JInteraction)
+                    commandName,
+                    context -> {
+                        context.store(Discord4JCommandManager.CONTEXT_DISCORD4J_INTERACTION, discord4JInteraction);
+                        if (!typedOptionValues.isEmpty()) {
+                            context.store(TypedOptionValues.CONTEXT_KEY, typedOptionValues);
+                        }
+                    }
             );
         }).orElse(CompletableFuture.completedFuture(null)));
     }
 
     private @NonNull Mono<?> handleChatInputAutoCompleteEvent(final @NonNull ChatInputAutoCompleteEvent event) {
         return Mono.fromFuture(event.getInteraction().getCommandInteraction().map(interaction -> {
-            String commandName = this.extractCommandName(interaction);
+            String commandName = this.extractCommandName(interaction, event.getFocusedOption().getName(), null);
 
             final Optional<?> value = event.getFocusedOption().getValue();
             if (!value.isPresent()) {
@@ -126,61 +234,225 @@ final class Discord4JEventListener<C> {
                     this.commandManager.senderMapper().map(discord4JInteraction)
             );
             context.store(Discord4JCommandManager.CONTEXT_DISCORD4J_INTERACTION, discord4JInteraction);
+            context.store(SuggestionSelector.CONTEXT_SUGGESTION_LIMIT, SuggestionSelector.MAX_CHOICES);
 
-            return this.commandManager.suggestionFactory()
-                    .suggest(context, commandName)
-                    .thenApply(suggestions -> suggestions.list()
+            return this.suggest(event, context, this.commandPath(interaction), commandName)
+                    .thenApply(suggestions -> this.commandManager.suggestionSelector()
+                            .select(suggestions, SuggestionSelector.MAX_CHOICES)
                             .stream()
-                            .map(suggestion -> {
-                                if (suggestion.suggestion().contains(" ")) {
-                                    return suggestion.withSuggestion(StringUtils.trimBeforeLastSpace(
-                                            suggestion.suggestion(),
-                                            suggestions.commandInput()
-                                    ));
-                                }
-                                return suggestion;
-                            })
-                            .filter(suggestion -> !suggestion.suggestion().isEmpty())
                             .map(suggestion -> {
                                 final ImmutableApplicationCommandOptionChoiceData.Builder builder =
                                         ApplicationCommandOptionChoiceData.builder().name(suggestion.suggestion());
+                                // Option choices are shown by their name, but Discord has to receive their value.
+                                final Object value = DiscordOptionChoice.choiceValue(suggestion);
                                 switch (event.getFocusedOption().getType()) {
                                     case INTEGER:
-                                        return builder.value(Integer.parseInt(suggestion.suggestion())).build();
+                                        return builder.value(value instanceof Number
+                                                ? ((Number) value).longValue()
+                                                : Long.parseLong(value.toString())).build();
                                     case NUMBER:
-                                        return builder.value(Double.parseDouble(suggestion.suggestion())).build();
+                                        return builder.value(value instanceof Number
+                                                ? ((Number) value).doubleValue()
+                                                : Double.parseDouble(value.toString())).build();
                                     default:
-                                        return builder.value(suggestion.suggestion()).build();
+                                        return builder.value(value.toString()).build();
                                 }
                             })
                             .collect(Collectors.toList()));
         })
                 .orElseGet(() -> CompletableFuture.completedFuture(Collections.emptyList())))
+                // Superseded suggestions are dropped, as Discord only uses the response to the most recent interaction.
+                .onErrorResume(AutocompleteTracker::isSuperseded, throwable -> Mono.empty())
                 .<Iterable<ApplicationCommandOptionChoiceData>>map(ArrayList::new)
                 .flatMap(event::respondWithSuggestions);
     }
 
-    private @NonNull String extractCommandName(final @NonNull ApplicationCommandInteraction interaction) {
-        final StringBuilder command = new StringBuilder();
-        interaction.getName().ifPresent(command::append);
-        interaction.getOptions().forEach(option -> command.append(" ").append(this.extractOptionString(option)));
+    private @NonNull CompletableFuture<? extends Suggestions<C, ?>> suggest(
+            final @NonNull ChatInputAutoCompleteEvent event,
+            final @NonNull CommandContext<C> context,
+            final @NonNull String commandPath,
+            final @NonNull String input
+    ) {
+        final long user = event.getInteraction().getUser().getId().asLong();
+        final String focusedOption = event.getFocusedOption().getName();
+        final SuggestionCache suggestionCache = this.commandManager.suggestionCache();
+        final CompletableFuture<? extends Suggestions<C, ?>> future;
+        if (suggestionCache == null) {
+            future = this.commandManager.suggestionFactory().suggest(context, input);
+        } else {
+            future = suggestionCache.suggest(
+                    user,
+                    commandPath,
+                    focusedOption,
+                    input,
+                    context,
+                    () -> this.commandManager.suggestionFactory().suggest(context, input)
+            );
+        }
+        return this.commandManager.autocompleteTracker().track(user, commandPath, focusedOption, future);
+    }
+
+    /**
+     * Serializes the interaction into a command string.
+     *
+     * @param interaction       the interaction
+     * @param focusedOption     name of the focused option when autocompleting, or {@code null}
+     * @param typedOptionValues values that receive the typed integer, number and boolean options, or {@code null}. The
+     *                          values are only collected if the route of the command {@link CommandRoute#hasTypedOptions()
+     *                          has typed options}
+     * @return the command string
+     */
+    private @NonNull String extractCommandName(
+            final @NonNull ApplicationCommandInteraction interaction,
+            final @Nullable String focusedOption,
+            final @Nullable TypedOptionValues typedOptionValues
+    ) {
+        final StringBuilder command = new StringBuilder(this.commandPath(interaction));
+        final List<ApplicationCommandInteractionOption> options = this.leafOptions(interaction);
+
+        final CommandRoute<C> route = this.commandManager.routeTable().route(command.toString());
+        final TypedOptionValues collectedValues = route != null && route.hasTypedOptions() ? typedOptionValues : null;
+        for (final ApplicationCommandInteractionOption option : this.orderedOptions(options, route, focusedOption)) {
+            command.append(' ');
+            this.appendOption(command, option, collectedValues);
+        }
         return command.toString();
     }
 
-    private @NonNull String extractOptionString(final @NonNull ApplicationCommandInteractionOption option) {
-        final StringBuilder string = new StringBuilder();
-        if (option.getType() == ApplicationCommandOption.Type.SUB_COMMAND
-                || option.getType() == ApplicationCommandOption.Type.SUB_COMMAND_GROUP) {
-            string.append(option.getName());
-            option.getOptions().forEach(inner -> string.append(" ").append(this.extractOptionString(inner)));
+    /**
+     * Returns the full path of the invoked command, with the root command, group and sub-command separated by a single
+     * space, in the same format as the {@link org.incendo.cloud.discord.slash.CommandRouteTable}.
+     *
+     * @param interaction the interaction
+     * @return the command path
+     */
+    private @NonNull String commandPath(final @NonNull ApplicationCommandInteraction interaction) {
+        final StringBuilder path = new StringBuilder();
+        interaction.getName().ifPresent(path::append);
+
+        // Sub-commands and groups are always the only option on their level.
+        List<ApplicationCommandInteractionOption> options = interaction.getOptions();
+        while (options.size() == 1 && this.isSubCommand(options.get(0))) {
+            path.append(' ').append(options.get(0).getName());
+            options = options.get(0).getOptions();
+        }
+        return path.toString();
+    }
+
+    /**
+     * Returns the options of the invoked sub-command, or of the root command if there are no sub-commands.
+     *
+     * @param interaction the interaction
+     * @return the options
+     */
+    private @NonNull List<@NonNull ApplicationCommandInteractionOption> leafOptions(
+            final @NonNull ApplicationCommandInteraction interaction
+    ) {
+        List<ApplicationCommandInteractionOption> options = interaction.getOptions();
+        while (options.size() == 1 && this.isSubCommand(options.get(0))) {
+            options = options.get(0).getOptions();
+        }
+        return options;
+    }
+
+    /**
+     * Returns the {@code options} in the order that they are parsed in.
+     *
+     * <p>Discord delivers the options in the order that the user entered them. The options are sorted according to the
+     * {@code route} of the command. When autocompleting, the options that follow the focused option are dropped, as the
+     * focused option has to be the last one.</p>
+     *
+     * @param options       the options
+     * @param route         the route of the command, or {@code null}
+     * @param focusedOption name of the focused option when autocompleting, or {@code null}
+     * @return the options
+     */
+    private @NonNull List<@NonNull ApplicationCommandInteractionOption> orderedOptions(
+            final @NonNull List<@NonNull ApplicationCommandInteractionOption> options,
+            final @Nullable CommandRoute<C> route,
+            final @Nullable String focusedOption
+    ) {
+        if (route == null || options.size() <= 1) {
+            return options;
+        }
+
+        final List<ApplicationCommandInteractionOption> orderedOptions = new ArrayList<>(options.size());
+        for (final String argument : route.arguments()) {
+            for (final ApplicationCommandInteractionOption option : options) {
+                if (option.getName().equals(argument)) {
+                    orderedOptions.add(option);
+                    break;
+                }
+            }
+            if (argument.equals(focusedOption)) {
+                return orderedOptions;
+            }
+        }
+        if (orderedOptions.size() != options.size()) {
+            // Options that are not part of the route are kept in the order that they were delivered in.
+            for (final ApplicationCommandInteractionOption option : options) {
+                if (!orderedOptions.contains(option)) {
+                    orderedOptions.add(option);
+                }
+            }
+        }
+        return orderedOptions;
+    }
+
+    private boolean isSubCommand(final @NonNull ApplicationCommandInteractionOption option) {
+        return option.getType() == ApplicationCommandOption.Type.SUB_COMMAND
+                || option.getType() == ApplicationCommandOption.Type.SUB_COMMAND_GROUP;
+    }
+
+    private void appendOption(
+            final @NonNull StringBuilder command,
+            final @NonNull ApplicationCommandInteractionOption option,
+            final @Nullable TypedOptionValues typedOptionValues
+    ) {
+        if (this.isSubCommand(option)) {
+            command.append(option.getName());
+            for (final ApplicationCommandInteractionOption inner : option.getOptions()) {
+                command.append(' ');
+                this.appendOption(command, inner, typedOptionValues);
+            }
+        } else if (Discord4JOptionType.DISCORD4J_OPTION_TYPE_MASK.contains(option.getType().getValue())) {
+            command.append(option.getName());
         } else {
-            if (Discord4JOptionType.DISCORD4J_OPTION_TYPES.stream()
-                    .anyMatch(type -> type.value() == option.getType().getValue())) {
-                string.append(option.getName());
-            } else {
-                option.getValue().map(ApplicationCommandInteractionOptionValue::getRaw).ifPresent(string::append);
+            final ApplicationCommandInteractionOptionValue value = option.getValue().orElse(null);
+            if (value != null) {
+                final int position = command.length();
+                final String raw = value.getRaw();
+                command.append(raw);
+                if (typedOptionValues != null) {
+                    this.storeTypedValue(typedOptionValues, option.getType(), position, raw, value);
+                }
+            }
+        }
+    }
+
+    private void storeTypedValue(
+            final @NonNull TypedOptionValues typedOptionValues,
+            final ApplicationCommandOption.@NonNull Type type,
+            final int position,
+            final @NonNull String raw,
+            final @NonNull ApplicationCommandInteractionOptionValue value
+    ) {
+        try {
+            switch (type) {
+                case INTEGER:
+                    typedOptionValues.put(position, raw, value.asLong());
+                    break;
+                case NUMBER:
+                    typedOptionValues.put(position, raw, value.asDouble());
+                    break;
+                case BOOLEAN:
+                    typedOptionValues.put(position, raw, value.asBoolean());
+                    break;
+                default:
+                    break;
             }
+        } catch (final RuntimeException ignored) {
+            // The value will be parsed from the command string instead.
         }
-        return string.toString();
     }
 }
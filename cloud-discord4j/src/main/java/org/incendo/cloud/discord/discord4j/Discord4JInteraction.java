@@ -26,9 +26,19 @@ package org.incendo.cloud.discord.discord4j;
 import discord4j.core.event.domain.interaction.ChatInputInteractionEvent;
 import discord4j.core.event.domain.interaction.InteractionCreateEvent;
 import discord4j.core.object.command.ApplicationCommandInteraction;
+import discord4j.core.object.command.ApplicationCommandInteractionOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.immutables.value.Value;
 import org.incendo.cloud.discord.immutables.StagedImmutableBuilder;
 
@@ -60,6 +70,47 @@ public interface Discord4JInteraction {
      */
     @NonNull InteractionCreateEvent interactionEvent();
 
+    /**
+     * Returns all options of the command interaction, including the options of sub-commands, indexed by their
+     * lower-case name.
+     *
+     * <p>The index is built the first time it is accessed. If multiple options share a name, then the option that
+     * comes first in a depth-first traversal is indexed.</p>
+     *
+     * @return options by name
+     */
+    @Value.Lazy
+    default @NonNull Map<@NonNull String, @NonNull ApplicationCommandInteractionOption> optionIndex() {
+        final Map<String, ApplicationCommandInteractionOption> index = new HashMap<>();
+        final Deque<ApplicationCommandInteractionOption> options = new ArrayDeque<>();
+        final List<ApplicationCommandInteractionOption> rootOptions = this.commandInteraction().getOptions();
+        for (int i = rootOptions.size() - 1; i >= 0; i--) {
+            options.push(rootOptions.get(i));
+        }
+        while (!options.isEmpty()) {
+            final ApplicationCommandInteractionOption option = options.pop();
+            index.putIfAbsent(option.getName().toLowerCase(Locale.ROOT), option);
+            final List<ApplicationCommandInteractionOption> childOptions = option.getOptions();
+            for (int i = childOptions.size() - 1; i >= 0; i--) {
+                options.push(childOptions.get(i));
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Returns the option with the given {@code name}, or {@code null} if it does not exist.
+     *
+     * <p>The name is case-insensitive, and options of sub-commands are included.</p>
+     *
+     * @param name option name
+     * @return the option, or {@code null}
+     */
+    default @Nullable ApplicationCommandInteractionOption option(final @NonNull String name) {
+        Objects.requireNonNull(name, "name");
+        return this.optionIndex().get(name.toLowerCase(Locale.ROOT));
+    }
+
     /**
      * Returns the command event. This will be empty during suggestion generation.
      *
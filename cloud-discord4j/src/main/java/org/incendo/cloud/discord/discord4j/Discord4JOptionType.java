@@ -35,6 +35,7 @@ import java.util.Collections;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.discord.slash.DiscordOptionType;
+import org.incendo.cloud.discord.slash.OptionTypeMask;
 
 /**
  * Extension of {@link DiscordOptionType} for Discord4J-specific classes.
@@ -73,6 +74,7 @@ public final class Discord4JOptionType {
     public static final Collection<@NonNull DiscordOptionType<?>> DISCORD4J_OPTION_TYPES = Collections.unmodifiableCollection(
             Arrays.asList(USER, CHANNEL, ROLE, MENTIONABLE, ATTACHMENT)
     );
+    public static final @NonNull OptionTypeMask DISCORD4J_OPTION_TYPE_MASK = OptionTypeMask.of(DISCORD4J_OPTION_TYPES);
 
     private Discord4JOptionType() {
     }
@@ -26,13 +26,14 @@ package org.incendo.cloud.discord.discord4j;
 import discord4j.common.util.Snowflake;
 import discord4j.core.object.command.ApplicationCommandInteractionOption;
 import discord4j.core.object.command.ApplicationCommandInteractionOptionValue;
+import discord4j.core.object.command.ApplicationCommandInteractionResolved;
 import discord4j.core.object.entity.Attachment;
 import discord4j.core.object.entity.Role;
 import discord4j.core.object.entity.User;
 import discord4j.core.object.entity.channel.Channel;
-import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -47,6 +48,9 @@ import reactor.core.publisher.Mono;
 /**
  * A parser which wraps Discord4J options.
  *
+ * <p>Users and roles are built from the resolved data that Discord ships with the interaction. They are only fetched
+ * when the resolved data is absent, which is counted by {@link #resolvedDataFallbacks()}.</p>
+ *
  * @param <C> command sender type
  * @param <T> Discord4J type
  * @since 1.0.0
@@ -54,6 +58,8 @@ import reactor.core.publisher.Mono;
 @API(status = API.Status.STABLE, since = "1.0.0")
 public final class Discord4JParser<C, T> extends NullableParser<C, T> {
 
+    private static final LongAdder RESOLVED_DATA_FALLBACKS = new LongAdder();
+
     /**
      * Creates a new {@link User} parser.
      *
@@ -61,7 +67,11 @@ public final class Discord4JParser<C, T> extends NullableParser<C, T> {
      * @return user parser
      */
     public static <C> @NonNull ParserDescriptor<C, User> userParser() {
-        return createParser(ApplicationCommandInteractionOptionValue::asUser, User.class);
+        return createParser(
+                ApplicationCommandInteractionResolved::getUser,
+                ApplicationCommandInteractionOptionValue::asUser,
+                User.class
+        );
     }
 
     /**
@@ -71,7 +81,11 @@ public final class Discord4JParser<C, T> extends NullableParser<C, T> {
      * @return role parser
      */
     public static <C> @NonNull ParserDescriptor<C, Role> roleParser() {
-        return createParser(ApplicationCommandInteractionOptionValue::asRole, Role.class);
+        return createParser(
+                ApplicationCommandInteractionResolved::getRole,
+                ApplicationCommandInteractionOptionValue::asRole,
+                Role.class
+        );
     }
 
     /**
@@ -81,7 +95,8 @@ public final class Discord4JParser<C, T> extends NullableParser<C, T> {
      * @return channel parser
      */
     public static <C> @NonNull ParserDescriptor<C, Channel> channelParser() {
-        return createParser(ApplicationCommandInteractionOptionValue::asChannel, Channel.class);
+        // The resolved data only contains partial channels, so the channel has to be fetched.
+        return createParser(null, ApplicationCommandInteractionOptionValue::asChannel, Channel.class);
     }
 
     /**
@@ -92,6 +107,7 @@ public final class Discord4JParser<C, T> extends NullableParser<C, T> {
      */
     public static <C> @NonNull ParserDescriptor<C, Snowflake> mentionableParser() {
         return createParser(
+                null,
                 value -> Mono.fromSupplier(value::asSnowflake),
                 Snowflake.class
         );
@@ -105,23 +121,38 @@ public final class Discord4JParser<C, T> extends NullableParser<C, T> {
      */
     public static <C> @NonNull ParserDescriptor<C, Attachment> attachmentParser() {
         return createParser(
+                null,
                 value -> Mono.fromSupplier(value::asAttachment),
                 Attachment.class
         );
     }
 
+    /**
+     * Returns the number of times that an entity had to be fetched because it was absent from the resolved data of the
+     * interaction.
+     *
+     * @return the number of fallbacks
+     */
+    public static long resolvedDataFallbacks() {
+        return RESOLVED_DATA_FALLBACKS.sum();
+    }
+
     private static <C, T> @NonNull ParserDescriptor<C, T> createParser(
+            final @Nullable Resolver<T> resolver,
             final @NonNull Function<@NonNull ApplicationCommandInteractionOptionValue, @NonNull Mono<T>> extractor,
             final @NonNull Class<T> clazz
     ) {
-        return ParserDescriptor.of(new Discord4JParser<>(extractor), clazz);
+        return ParserDescriptor.of(new Discord4JParser<>(resolver, extractor), clazz);
     }
 
+    private final @Nullable Resolver<T> resolver;
     private final Function<@NonNull ApplicationCommandInteractionOptionValue, @NonNull Mono<T>> extractor;
 
     private Discord4JParser(
+            final @Nullable Resolver<T> resolver,
             final @NonNull Function<@NonNull ApplicationCommandInteractionOptionValue, @NonNull Mono<T>> extractor
     ) {
+        this.resolver = resolver;
         this.extractor = extractor;
     }
 
@@ -131,26 +162,36 @@ public final class Discord4JParser<C, T> extends NullableParser<C, T> {
             final @NonNull CommandInput commandInput
     ) {
         final Discord4JInteraction interaction = commandContext.get(Discord4JCommandManager.CONTEXT_DISCORD4J_INTERACTION);
-        return this.findOption(interaction.commandInteraction().getOptions(), commandInput.readString())
-                .flatMap(ApplicationCommandInteractionOption::getValue)
-                .map(this.extractor)
-                .map(mono -> mono.map(ArgumentParseResult::success).toFuture())
-                .orElseGet(() -> CompletableFuture.completedFuture(null));
-    }
+        final ApplicationCommandInteractionOption option = interaction.option(commandInput.readString());
+        if (option == null) {
+            return nullResult();
+        }
 
-    private @NonNull Optional<ApplicationCommandInteractionOption> findOption(
-            final @NonNull List<@NonNull ApplicationCommandInteractionOption> options,
-            final @NonNull String name
-    ) {
-        for (final ApplicationCommandInteractionOption option : options) {
-            if (option.getName().equalsIgnoreCase(name)) {
-                return Optional.of(option);
-            }
-            final Optional<ApplicationCommandInteractionOption> childOption = this.findOption(option.getOptions(), name);
-            if (childOption.isPresent()) {
-                return childOption;
+        final Optional<ApplicationCommandInteractionOptionValue> value = option.getValue();
+        if (!value.isPresent()) {
+            return nullResult();
+        }
+        if (this.resolver != null) {
+            final T resolved = interaction.commandInteraction()
+                    .getResolved()
+                    .flatMap(data -> this.resolver.resolve(data, value.get().asSnowflake()))
+                    .orElse(null);
+            if (resolved != null) {
+                return ArgumentParseResult.successFuture(resolved);
             }
+            RESOLVED_DATA_FALLBACKS.increment();
         }
-        return Optional.empty();
+        return this.extractor.apply(value.get()).map(ArgumentParseResult::success).toFuture();
+    }
+
+    /**
+     * Resolves an entity from the resolved data of an interaction.
+     *
+     * @param <T> entity type
+     */
+    @FunctionalInterface
+    private interface Resolver<T> {
+
+        @NonNull Optional<T> resolve(@NonNull ApplicationCommandInteractionResolved resolved, @NonNull Snowflake id);
     }
 }
@@ -33,13 +33,18 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.discord.slash.CachingDiscordCommandFactory;
+import org.incendo.cloud.discord.slash.CommandHasher;
 import org.incendo.cloud.discord.slash.CommandScope;
 import org.incendo.cloud.discord.slash.CommandScopePredicate;
 import org.incendo.cloud.discord.slash.DiscordCommand;
 import org.incendo.cloud.discord.slash.DiscordCommandFactory;
 import org.incendo.cloud.discord.slash.DiscordOption;
 import org.incendo.cloud.discord.slash.DiscordOptionChoice;
+import org.incendo.cloud.discord.slash.DiscordRegistrationHandler;
+import org.incendo.cloud.discord.slash.GuildIndex;
 import org.incendo.cloud.discord.slash.NodeProcessor;
 import org.incendo.cloud.discord.slash.OptionRegistry;
 import org.incendo.cloud.discord.slash.StandardDiscordCommandFactory;
@@ -55,7 +60,10 @@ final class StandardDiscord4JCommandFactory<C> implements Discord4JCommandFactor
 
     private CommandScopePredicate<C> commandScopePredicate = CommandScopePredicate.alwaysTrue();
 
-    StandardDiscord4JCommandFactory(final @NonNull Discord4JCommandManager<C> commandManager) {
+    StandardDiscord4JCommandFactory(
+            final @NonNull Discord4JCommandManager<C> commandManager,
+            final @NonNull DiscordRegistrationHandler<C> registrationHandler
+    ) {
         this.commandTree = commandManager.commandTree();
 
         final OptionRegistry<C> optionRegistry = new StandardOptionRegistry<>();
@@ -66,27 +74,17 @@ final class StandardDiscord4JCommandFactory<C> implements Discord4JCommandFactor
                 .registerMapping(Discord4JOptionType.MENTIONABLE, Discord4JParser.mentionableParser())
                 .registerMapping(Discord4JOptionType.ATTACHMENT, Discord4JParser.attachmentParser());
 
-        this.discordCommandFactory = new StandardDiscordCommandFactory<>(optionRegistry);
-
-        this.nodeProcessor = new NodeProcessor<>(this.commandTree);
+        this.nodeProcessor = new NodeProcessor<>(this.commandTree, registrationHandler);
+        this.discordCommandFactory = new CachingDiscordCommandFactory<>(
+                new StandardDiscordCommandFactory<>(optionRegistry),
+                this.nodeProcessor
+        );
     }
 
     @Override
     public @NonNull List<@NonNull ApplicationCommandRequest> createCommands(final @NonNull CommandScope<C> scope) {
-        this.nodeProcessor.prepareTree();
-
         final List<ApplicationCommandRequest> commands = new ArrayList<>();
-        for (final CommandNode<C> rootNode : this.commandTree.rootNodes()) {
-            final CommandScope<C> rootScope = (CommandScope<C>) rootNode.nodeMeta().get(NodeProcessor.NODE_META_SCOPE);
-            if (!rootScope.overlaps(scope)) {
-                continue;
-            }
-
-            if (!this.commandScopePredicate.test(rootNode, scope)) {
-                continue;
-            }
-
-            final DiscordCommand<C> command = this.discordCommandFactory.create(rootNode);
+        for (final DiscordCommand<C> command : this.createDiscordCommands(scope)) {
             final ApplicationCommandRequest request = ApplicationCommandRequest.builder()
                     .name(command.name())
                     .description(command.description())
@@ -98,11 +96,45 @@ final class StandardDiscord4JCommandFactory<C> implements Discord4JCommandFactor
         return commands;
     }
 
+    @Override
+    public @NonNull String commandHash(final @NonNull CommandScope<C> scope) {
+        final CommandHasher hasher = CommandHasher.commandHasher();
+        for (final DiscordCommand<C> command : this.createDiscordCommands(scope)) {
+            hasher.putCommand(command);
+        }
+        return hasher.hash();
+    }
+
+    @Override
+    public @NonNull GuildIndex guildIndex() {
+        this.nodeProcessor.prepareTree();
+        return this.nodeProcessor.guildIndex();
+    }
+
+    @Override
+    public @Nullable CommandScope<C> processedScope(final @NonNull String rootName) {
+        return this.nodeProcessor.processedScope(rootName);
+    }
+
     @Override
     public void commandScopePredicate(final @NonNull CommandScopePredicate<C> predicate) {
         this.commandScopePredicate = Objects.requireNonNull(predicate, "predicate");
     }
 
+    private @NonNull List<@NonNull DiscordCommand<C>> createDiscordCommands(final @NonNull CommandScope<C> scope) {
+        this.nodeProcessor.prepareTree();
+
+        final List<DiscordCommand<C>> commands = new ArrayList<>();
+        for (final CommandNode<C> rootNode : this.nodeProcessor.rootNodes(scope)) {
+            if (!this.commandScopePredicate.test(rootNode, scope)) {
+                continue;
+            }
+
+            commands.add(this.discordCommandFactory.create(rootNode));
+        }
+        return commands;
+    }
+
     private @NonNull List<@NonNull ApplicationCommandOptionData> createOptions(
             final @NonNull List<@NonNull DiscordOption<C>> options
     ) {
@@ -23,7 +23,10 @@
 //
 package org.incendo.cloud.discord.jda6;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import net.dv8tion.jda.api.events.guild.GuildReadyEvent;
@@ -33,15 +36,21 @@ import net.dv8tion.jda.api.events.session.ReadyEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import net.dv8tion.jda.api.interactions.commands.Command;
 import net.dv8tion.jda.api.interactions.commands.CommandInteractionPayload;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.context.CommandContextFactory;
 import org.incendo.cloud.context.StandardCommandContextFactory;
+import org.incendo.cloud.discord.slash.AutocompleteTracker;
+import org.incendo.cloud.discord.slash.CommandRoute;
+import org.incendo.cloud.discord.slash.DiscordOptionChoice;
 import org.incendo.cloud.discord.slash.DiscordSetting;
-import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.discord.slash.SuggestionCache;
+import org.incendo.cloud.discord.slash.SuggestionSelector;
+import org.incendo.cloud.discord.slash.TypedOptionValues;
 import org.incendo.cloud.suggestion.Suggestions;
-import org.incendo.cloud.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,12 +73,18 @@ final class CommandListener<C> extends ListenerAdapter {
             return;
         }
 
+        if (!this.commandManager.shouldRegisterGuildCommands(event.getGuild().getIdLong())) {
+            LOGGER.debug("Skipping guild command registration for guild without guild commands: {}", event.getGuild());
+            return;
+        }
+
         LOGGER.debug("Registering guild commands for guild: {}", event.getGuild());
         this.commandManager.registerGuildCommands(event.getGuild());
     }
 
     @Override
     public void onReady(final @NonNull ReadyEvent event) {
+        this.commandManager.jda(event.getJDA());
         if (!this.commandManager.discordSettings().get(DiscordSetting.AUTO_REGISTER_SLASH_COMMANDS)) {
             return;
         }
@@ -87,16 +102,23 @@ final class CommandListener<C> extends ListenerAdapter {
                 .interactionEvent(event)
                 .addAllOptionMappings(event.getOptions())
                 .build();
+        final TypedOptionValues typedOptionValues = new TypedOptionValues();
+        final String commandName = this.extractCommandName(event, null, typedOptionValues);
         this.commandManager.commandExecutor().executeCommand(
                 this.commandManager.senderMapper().map(interaction),
-                this.extractCommandName(event),
-                context -> context.store(JDA6CommandManager.CONTEXT_JDA_INTERACTION, interaction)
+                commandName,
+                context -> {
+                    context.store(JDA6CommandManager.CONTEXT_JDA_INTERACTION, interaction);
+                    if (!typedOptionValues.isEmpty()) {
+                        context.store(TypedOptionValues.CONTEXT_KEY, typedOptionValues);
+                    }
+                }
         );
     }
 
     @Override
     public void onCommandAutoCompleteInteraction(final @NonNull CommandAutoCompleteInteractionEvent event) {
-        String commandName = this.extractCommandName(event);
+        String commandName = this.extractCommandName(event, event.getFocusedOption().getName(), null);
 
         final String value = event.getFocusedOption().getValue();
         if (value.isEmpty()) {
@@ -116,57 +138,181 @@ final class CommandListener<C> extends ListenerAdapter {
                 this.commandManager.senderMapper().map(interaction)
         );
         context.store(JDA6CommandManager.CONTEXT_JDA_INTERACTION, interaction);
+        context.store(SuggestionSelector.CONTEXT_SUGGESTION_LIMIT, SuggestionSelector.MAX_CHOICES);
 
-        try {
-            final Suggestions<C, ? extends Suggestion> suggestions = this.commandManager.suggestionFactory()
-                    .suggest(context, commandName)
-                    .join();
-            event.replyChoices(suggestions.list()
-                            .stream()
-                            .map(suggestion -> {
-                                if (suggestion.suggestion().contains(" ")) {
-                                    return suggestion.withSuggestion(StringUtils.trimBeforeLastSpace(
-                                            suggestion.suggestion(),
-                                            suggestions.commandInput()
-                                    ));
-                                }
-                                return suggestion;
-                            })
-                            .filter(suggestion -> !suggestion.suggestion().isEmpty())
-                            .map(suggestion -> {
-                                switch (event.getFocusedOption().getType()) {
-                                    case INTEGER:
-                                        return new Command.Choice(suggestion.suggestion(), Integer.parseInt(suggestion.suggestion()));
-                                    case NUMBER:
-                                        return new Command.Choice(suggestion.suggestion(),
-                                                Double.parseDouble(suggestion.suggestion()));
-                                    default:
-                                        return new Command.Choice(suggestion.suggestion(), suggestion.suggestion());
-                                }
-
-                            })
-                            .collect(Collectors.toList())
-            ).queue();
-        } catch (final CompletionException completionException) {
-            final Throwable cause = completionException.getCause();
-            // We unwrap if we can, otherwise we don't. There's no point in wrapping again.
-            if (cause instanceof RuntimeException) {
-                throw ((RuntimeException) cause);
-            }
-            throw completionException;
+        this.suggest(event, context, commandName)
+                .thenAcceptAsync(
+                        suggestions -> event.replyChoices(this.mapChoices(event, suggestions)).queue(),
+                        this.commandManager.suggestionExecutor()
+                )
+                .whenComplete((result, throwable) -> {
+                    if (throwable == null || AutocompleteTracker.isSuperseded(throwable)) {
+                        return;
+                    }
+                    // We unwrap if we can, otherwise we don't. There's no point in reporting the wrapper.
+                    final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause()
+                            : throwable;
+                    LOGGER.error(
+                            "Failed to provide suggestions for autocomplete interaction: {}",
+                            event.getCommandString(),
+                            cause
+                    );
+                });
+    }
+
+    private @NonNull CompletableFuture<? extends Suggestions<C, ?>> suggest(
+            final @NonNull CommandAutoCompleteInteractionEvent event,
+            final @NonNull CommandContext<C> context,
+            final @NonNull String input
+    ) {
+        final long user = event.getUser().getIdLong();
+        final String commandPath = event.getFullCommandName();
+        final String focusedOption = event.getFocusedOption().getName();
+        final SuggestionCache suggestionCache = this.commandManager.suggestionCache();
+        final CompletableFuture<? extends Suggestions<C, ?>> future;
+        if (suggestionCache == null) {
+            future = this.commandManager.suggestionFactory().suggest(context, input);
+        } else {
+            future = suggestionCache.suggest(
+                    user,
+                    commandPath,
+                    focusedOption,
+                    input,
+                    context,
+                    () -> this.commandManager.suggestionFactory().suggest(context, input)
+            );
         }
+        return this.commandManager.autocompleteTracker().track(user, commandPath, focusedOption, future);
     }
 
-    private @NonNull String extractCommandName(final @NonNull CommandInteractionPayload payload) {
+    private @NonNull List<Command.@NonNull Choice> mapChoices(
+            final @NonNull CommandAutoCompleteInteractionEvent event,
+            final @NonNull Suggestions<C, ?> suggestions
+    ) {
+        return this.commandManager.suggestionSelector()
+                .select(suggestions, SuggestionSelector.MAX_CHOICES)
+                .stream()
+                .map(suggestion -> {
+                    // Option choices are shown by their name, but Discord has to receive their value.
+                    final Object value = DiscordOptionChoice.choiceValue(suggestion);
+                    switch (event.getFocusedOption().getType()) {
+                        case INTEGER:
+                            return new Command.Choice(suggestion.suggestion(), value instanceof Number
+                                    ? ((Number) value).longValue()
+                                    : Long.parseLong(value.toString()));
+                        case NUMBER:
+                            return new Command.Choice(suggestion.suggestion(), value instanceof Number
+                                    ? ((Number) value).doubleValue()
+                                    : Double.parseDouble(value.toString()));
+                        default:
+                            return new Command.Choice(suggestion.suggestion(), value.toString());
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Serializes the interaction into a command string.
+     *
+     * @param payload           the interaction payload
+     * @param focusedOption     name of the focused option when autocompleting, or {@code null}
+     * @param typedOptionValues values that receive the typed integer, number and boolean options, or {@code null}. The
+     *                          values are only collected if the route of the command {@link CommandRoute#hasTypedOptions()
+     *                          has typed options}
+     * @return the command string
+     */
+    private @NonNull String extractCommandName(
+            final @NonNull CommandInteractionPayload payload,
+            final @Nullable String focusedOption,
+            final @Nullable TypedOptionValues typedOptionValues
+    ) {
+        final CommandRoute<C> route = this.commandManager.routeTable().route(payload.getFullCommandName());
+        final TypedOptionValues collectedValues = route != null && route.hasTypedOptions() ? typedOptionValues : null;
+
         final StringBuilder command = new StringBuilder(payload.getFullCommandName());
-        payload.getOptions().forEach(option -> {
+        this.orderedOptions(payload, route, focusedOption).forEach(option -> {
             command.append(" ");
-            if (JDAOptionType.JDA_TYPES.stream().anyMatch(type -> type.value() == option.getType().getKey())) {
+            if (JDAOptionType.JDA_TYPE_MASK.contains(option.getType().getKey())) {
                 command.append(option.getName());
-            } else {
-                command.append(option.getAsString());
+                return;
+            }
+
+            final int position = command.length();
+            final String value = option.getAsString();
+            command.append(value);
+            if (collectedValues != null) {
+                this.storeTypedValue(collectedValues, option, position, value);
             }
         });
         return command.toString();
     }
+
+    /**
+     * Returns the options of the payload in the order that they are parsed in.
+     *
+     * <p>Discord delivers the options in the order that the user entered them. The options are sorted according to the
+     * {@link CommandRoute} of the command. When autocompleting, the options that follow
+     * the focused option are dropped, as the focused option has to be the last one.</p>
+     *
+     * @param payload       the interaction payload
+     * @param route         the route of the command, or {@code null}
+     * @param focusedOption name of the focused option when autocompleting, or {@code null}
+     * @return the options
+     */
+    private @NonNull List<@NonNull OptionMapping> orderedOptions(
+            final @NonNull CommandInteractionPayload payload,
+            final @Nullable CommandRoute<C> route,
+            final @Nullable String focusedOption
+    ) {
+        final List<OptionMapping> options = payload.getOptions();
+        if (route == null || options.size() <= 1) {
+            return options;
+        }
+
+        final List<OptionMapping> orderedOptions = new ArrayList<>(options.size());
+        for (final String argument : route.arguments()) {
+            final OptionMapping option = payload.getOption(argument);
+            if (option != null) {
+                orderedOptions.add(option);
+            }
+            if (argument.equals(focusedOption)) {
+                return orderedOptions;
+            }
+        }
+        if (orderedOptions.size() != options.size()) {
+            // Options that are not part of the route are kept in the order that they were delivered in.
+            for (final OptionMapping option : options) {
+                if (!orderedOptions.contains(option)) {
+                    orderedOptions.add(option);
+                }
+            }
+        }
+        return orderedOptions;
+    }
+
+    private void storeTypedValue(
+            final @NonNull TypedOptionValues typedOptionValues,
+            final @NonNull OptionMapping option,
+            final int position,
+            final @NonNull String value
+    ) {
+        try {
+            switch (option.getType()) {
+                case INTEGER:
+                    typedOptionValues.put(position, value, option.getAsLong());
+                    break;
+                case NUMBER:
+                    typedOptionValues.put(position, value, option.getAsDouble());
+                    break;
+                case BOOLEAN:
+                    typedOptionValues.put(position, value, option.getAsBoolean());
+                    break;
+                default:
+                    break;
+            }
+        } catch (final RuntimeException ignored) {
+            // The value will be parsed from the command string instead.
+        }
+    }
 }
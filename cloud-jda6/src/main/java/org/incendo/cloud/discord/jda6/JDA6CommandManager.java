@@ -24,7 +24,10 @@
 package org.incendo.cloud.discord.jda6;
 
 import io.leangen.geantyref.TypeToken;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import net.dv8tion.jda.api.JDA;
@@ -36,12 +39,23 @@ import net.dv8tion.jda.api.events.interaction.command.GenericCommandInteractionE
 import net.dv8tion.jda.api.hooks.EventListener;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.discord.slash.AutocompleteTracker;
+import org.incendo.cloud.discord.slash.CommandRouteTable;
 import org.incendo.cloud.discord.slash.CommandScope;
+import org.incendo.cloud.discord.slash.DiscordRegistrationHandler;
 import org.incendo.cloud.discord.slash.DiscordSetting;
+import org.incendo.cloud.discord.slash.GuildIndex;
+import org.incendo.cloud.discord.slash.RegistrationDebouncer;
+import org.incendo.cloud.discord.slash.RegistrationLedger;
+import org.incendo.cloud.discord.slash.RegistrationRequest;
+import org.incendo.cloud.discord.slash.RegistrationScheduler;
+import org.incendo.cloud.discord.slash.ScopeChanges;
+import org.incendo.cloud.discord.slash.SuggestionCache;
+import org.incendo.cloud.discord.slash.SuggestionSelector;
 import org.incendo.cloud.execution.ExecutionCoordinator;
-import org.incendo.cloud.internal.CommandRegistrationHandler;
 import org.incendo.cloud.key.CloudKey;
 import org.incendo.cloud.setting.Configurable;
 import org.slf4j.Logger;
@@ -54,7 +68,7 @@ import org.slf4j.LoggerFactory;
  * @since 1.0.0
  */
 @API(status = API.Status.STABLE, since = "1.0.0")
-public class JDA6CommandManager<C> extends CommandManager<C> {
+public class JDA6CommandManager<C> extends CommandManager<C> implements AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JDA6CommandManager.class);
 
@@ -70,9 +84,18 @@ public class JDA6CommandManager<C> extends CommandManager<C> {
 
     private final JDAInteraction.InteractionMapper<C> senderMapper;
     private final Configurable<DiscordSetting> discordSettings;
+    private final RegistrationDebouncer<C> registrationDebouncer;
+    private final CommandRouteTable<C> routeTable;
+    private final AutocompleteTracker autocompleteTracker = new AutocompleteTracker();
+    private RegistrationLedger registrationLedger = RegistrationLedger.inMemory();
+    private RegistrationScheduler registrationScheduler = RegistrationScheduler.create();
+    private Executor suggestionExecutor = Runnable::run;
+    private SuggestionSelector suggestionSelector = SuggestionSelector.first();
+    private @Nullable SuggestionCache suggestionCache;
 
     private BiPredicate<C, String> permissionPredicate;
     private JDACommandFactory<C> commandFactory;
+    private volatile @Nullable JDA jda;
 
     /**
      * Creates a new command manager.
@@ -84,9 +107,26 @@ public class JDA6CommandManager<C> extends CommandManager<C> {
             final @NonNull ExecutionCoordinator<C> executionCoordinator,
             final JDAInteraction.@NonNull InteractionMapper<C> senderMapper
     ) {
-        super(executionCoordinator, CommandRegistrationHandler.nullCommandRegistrationHandler());
-        this.commandFactory = new StandardJDACommandFactory<>(this.commandTree());
+        this(executionCoordinator, senderMapper, new DiscordRegistrationHandler<>());
+    }
+
+    private JDA6CommandManager(
+            final @NonNull ExecutionCoordinator<C> executionCoordinator,
+            final JDAInteraction.@NonNull InteractionMapper<C> senderMapper,
+            final @NonNull DiscordRegistrationHandler<C> registrationHandler
+    ) {
+        super(executionCoordinator, registrationHandler);
+        this.commandFactory = new StandardJDACommandFactory<>(this.commandTree(), registrationHandler);
         this.discordSettings = Configurable.enumConfigurable(DiscordSetting.class);
+        this.routeTable = new CommandRouteTable<>(this.commandTree(), registrationHandler);
+        this.registrationDebouncer = new RegistrationDebouncer<>(
+                this.commandTree(),
+                registrationHandler,
+                rootName -> this.commandFactory.processedScope(rootName),
+                () -> this.discordSettings.get(DiscordSetting.AUTO_REGISTER_SLASH_COMMANDS)
+                        && this.discordSettings.get(DiscordSetting.REGISTER_ON_CHANGE),
+                this::registerChanges
+        );
         this.permissionPredicate = (sender, permission) -> true;
         this.senderMapper = Objects.requireNonNull(senderMapper, "senderMapper");
         this.registerCommandPostProcessor(new ReplyCommandPostprocessor<>(this));
@@ -201,28 +241,262 @@ public class JDA6CommandManager<C> extends CommandManager<C> {
         this.permissionPredicate = Objects.requireNonNull(permissionPredicate, "permissionPredicate");
     }
 
+    /**
+     * Returns the ledger that keeps track of the commands that have been registered to Discord.
+     *
+     * @return the registration ledger
+     */
+    public final @NonNull RegistrationLedger registrationLedger() {
+        return this.registrationLedger;
+    }
+
+    /**
+     * Sets the ledger that keeps track of the commands that have been registered to Discord.
+     *
+     * <p>Use a persistent ledger, such as {@link RegistrationLedger#file(java.nio.file.Path)}, to avoid pushing unchanged
+     * commands when the bot restarts.</p>
+     *
+     * @param registrationLedger registration ledger
+     */
+    public final void registrationLedger(final @NonNull RegistrationLedger registrationLedger) {
+        this.registrationLedger = Objects.requireNonNull(registrationLedger, "registrationLedger");
+    }
+
+    /**
+     * Returns the scheduler that executes the command registrations.
+     *
+     * @return the registration scheduler
+     */
+    public final @NonNull RegistrationScheduler registrationScheduler() {
+        return this.registrationScheduler;
+    }
+
+    /**
+     * Sets the scheduler that executes the command registrations.
+     *
+     * @param registrationScheduler registration scheduler
+     */
+    public final void registrationScheduler(final @NonNull RegistrationScheduler registrationScheduler) {
+        this.registrationScheduler = Objects.requireNonNull(registrationScheduler, "registrationScheduler");
+    }
+
+    /**
+     * Returns the executor that replies to autocomplete interactions once their suggestions are available.
+     *
+     * <p>Autocomplete interactions never block the JDA event thread. The reply runs on this executor when the
+     * suggestion future completes. The default executor runs the reply on the thread that completes the future.</p>
+     *
+     * @return the suggestion executor
+     */
+    public final @NonNull Executor suggestionExecutor() {
+        return this.suggestionExecutor;
+    }
+
+    /**
+     * Sets the executor that replies to autocomplete interactions once their suggestions are available.
+     *
+     * @param suggestionExecutor suggestion executor
+     */
+    public final void suggestionExecutor(final @NonNull Executor suggestionExecutor) {
+        this.suggestionExecutor = Objects.requireNonNull(suggestionExecutor, "suggestionExecutor");
+    }
+
+    /**
+     * Returns the selector that picks the autocomplete choices from the generated suggestions.
+     *
+     * @return the suggestion selector
+     */
+    public final @NonNull SuggestionSelector suggestionSelector() {
+        return this.suggestionSelector;
+    }
+
+    /**
+     * Sets the selector that picks the autocomplete choices from the generated suggestions.
+     *
+     * @param suggestionSelector suggestion selector
+     */
+    public final void suggestionSelector(final @NonNull SuggestionSelector suggestionSelector) {
+        this.suggestionSelector = Objects.requireNonNull(suggestionSelector, "suggestionSelector");
+    }
+
+    /**
+     * Returns the cache that reuses the suggestions of previous autocomplete interactions, if enabled.
+     *
+     * @return the suggestion cache, or {@code null} if the suggestions are not cached
+     */
+    public final @Nullable SuggestionCache suggestionCache() {
+        return this.suggestionCache;
+    }
+
+    /**
+     * Sets the cache that reuses the suggestions of previous autocomplete interactions.
+     *
+     * <p>The suggestions are not cached by default. See {@link SuggestionCache} for the behavior of the cache.</p>
+     *
+     * @param suggestionCache the suggestion cache, or {@code null} to disable caching
+     */
+    public final void suggestionCache(final @Nullable SuggestionCache suggestionCache) {
+        this.suggestionCache = suggestionCache;
+    }
+
+    /**
+     * Returns the tracker that cancels autocomplete suggestions once a newer interaction supersedes them.
+     *
+     * @return the autocomplete tracker
+     */
+    public final @NonNull AutocompleteTracker autocompleteTracker() {
+        return this.autocompleteTracker;
+    }
+
+    /**
+     * Returns the window used to debounce re-registrations when {@link DiscordSetting#REGISTER_ON_CHANGE} is enabled.
+     *
+     * @return the re-registration window
+     */
+    public final @NonNull Duration reregistrationWindow() {
+        return this.registrationDebouncer.window();
+    }
+
+    /**
+     * Sets the window used to debounce re-registrations when {@link DiscordSetting#REGISTER_ON_CHANGE} is enabled.
+     *
+     * <p>Changes to the command tree are collected until no changes have been made for the duration of the window, after
+     * which the commands are registered once per affected scope.</p>
+     *
+     * @param window the re-registration window
+     */
+    public final void reregistrationWindow(final @NonNull Duration window) {
+        this.registrationDebouncer.window(window);
+    }
+
+    /**
+     * Closes the command manager by stopping the debouncer of {@link DiscordSetting#REGISTER_ON_CHANGE re-registrations}.
+     * Changes to the command tree are no longer registered to Discord afterwards.
+     *
+     * <p>The {@link #registrationLedger()} is not closed, as it is owned by the caller.</p>
+     */
+    @Override
+    public void close() {
+        this.registrationDebouncer.close();
+    }
+
     /**
      * Registers global commands.
      *
+     * <p>The registration is submitted to the {@link #registrationScheduler()}, and is skipped if the commands have not
+     * changed since the last registration.</p>
+     *
      * @param jda JDA instance
      */
     public void registerGlobalCommands(final @NonNull JDA jda) {
         Objects.requireNonNull(jda, "jda");
-        jda.updateCommands()
-                .addCommands(this.commandFactory.createCommands(CommandScope.global()))
-                .queue();
+        this.registrationScheduler.submit(RegistrationRequest.global(), () -> {
+            final CommandScope<C> scope = CommandScope.global();
+            final String hash = this.commandFactory.commandHash(scope);
+            if (hash != null && this.registrationLedger.isUpToDate(RegistrationLedger.GLOBAL_SCOPE, hash)) {
+                LOGGER.debug("Global commands are up to date, skipping registration");
+                return CompletableFuture.completedFuture(null);
+            }
+            return jda.updateCommands()
+                    .addCommands(this.commandFactory.createCommands(scope))
+                    .submit()
+                    .thenRun(() -> this.recordRegistration(RegistrationLedger.GLOBAL_SCOPE, hash));
+        }).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("Failed to register global commands", throwable);
+            }
+        });
     }
 
     /**
      * Registers guild commands.
      *
+     * <p>The registration is submitted to the {@link #registrationScheduler()}, and is skipped if the commands have not
+     * changed since the last registration.</p>
+     *
      * @param guild guild to register commands to
      */
     public void registerGuildCommands(final @NonNull Guild guild) {
         Objects.requireNonNull(guild, "guild");
-        guild.updateCommands()
-                .addCommands(this.commandFactory.createCommands(CommandScope.guilds(-1, guild.getIdLong())))
-                .queue();
+        final long guildId = guild.getIdLong();
+        this.registrationScheduler.submit(RegistrationRequest.guild(guildId, guild.getMemberCount()), () -> {
+            final CommandScope<C> scope = CommandScope.guilds(-1, guildId);
+            final String hash = this.commandFactory.commandHash(scope);
+            if (hash != null && this.registrationLedger.isUpToDate(guildId, hash)) {
+                LOGGER.debug("Guild commands for guild {} are up to date, skipping registration", guildId);
+                return CompletableFuture.completedFuture(null);
+            }
+            return guild.updateCommands()
+                    .addCommands(this.commandFactory.createCommands(scope))
+                    .submit()
+                    .thenRun(() -> this.recordRegistration(guildId, hash));
+        }).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("Failed to register guild commands for guild {}", guildId, throwable);
+            }
+        });
+    }
+
+    /**
+     * Returns whether the guild commands of the guild with the given {@code guildId} should be registered.
+     *
+     * @param guildId guild ID
+     * @return {@code true} if the guild commands should be registered, else {@code false}
+     * @see GuildIndex#shouldRegister(long, RegistrationLedger)
+     */
+    boolean shouldRegisterGuildCommands(final long guildId) {
+        return this.commandFactory.guildIndex().shouldRegister(guildId, this.registrationLedger);
+    }
+
+    /**
+     * Returns the table that maps full slash command paths to their routes.
+     *
+     * @return the route table
+     */
+    @NonNull CommandRouteTable<C> routeTable() {
+        return this.routeTable;
+    }
+
+    /**
+     * Sets the JDA instance that is used to register the commands again when the command tree changes.
+     *
+     * @param jda JDA instance
+     */
+    void jda(final @NonNull JDA jda) {
+        this.jda = jda;
+    }
+
+    private void registerChanges(final @NonNull ScopeChanges changes) {
+        final JDA jda = this.jda;
+        if (jda == null) {
+            // The commands will be registered once the bot is ready.
+            return;
+        }
+        if (changes.global()) {
+            this.registerGlobalCommands(jda);
+        }
+        if (changes.guilds().isAllGuilds()) {
+            jda.getGuildCache().forEach(this::registerChangedGuildCommands);
+        } else {
+            for (final long guildId : changes.guilds().guilds()) {
+                final Guild guild = jda.getGuildById(guildId);
+                if (guild != null) {
+                    this.registerChangedGuildCommands(guild);
+                }
+            }
+        }
+    }
+
+    private void registerChangedGuildCommands(final @NonNull Guild guild) {
+        if (this.shouldRegisterGuildCommands(guild.getIdLong())) {
+            this.registerGuildCommands(guild);
+        }
+    }
+
+    private void recordRegistration(final long scope, final @Nullable String hash) {
+        if (hash != null) {
+            this.registrationLedger.record(scope, hash);
+        }
     }
 
     @SuppressWarnings("unchecked")
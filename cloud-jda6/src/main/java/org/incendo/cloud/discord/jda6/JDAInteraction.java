@@ -23,7 +23,11 @@
 //
 package org.incendo.cloud.discord.jda6;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import net.dv8tion.jda.api.entities.Guild;
@@ -86,6 +90,23 @@ public interface JDAInteraction {
      */
     @NonNull List<@NonNull OptionMapping> optionMappings();
 
+    /**
+     * Returns the raw JDA option mappings indexed by their lower-case name.
+     *
+     * <p>The index is built the first time it is accessed. If multiple mappings share a name, then the first one is
+     * indexed.</p>
+     *
+     * @return option mappings by name
+     */
+    @Value.Lazy
+    default @NonNull Map<@NonNull String, @NonNull OptionMapping> optionMappingIndex() {
+        final Map<String, OptionMapping> index = new HashMap<>();
+        for (final OptionMapping mapping : this.optionMappings()) {
+            index.putIfAbsent(mapping.getName().toLowerCase(Locale.ROOT), mapping);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
     /**
      * Returns the option mapping with the given {@code key}, if it exists.
      *
@@ -93,8 +114,20 @@ public interface JDAInteraction {
      * @return the mapping
      */
     default @NonNull Optional<@NonNull OptionMapping> getOptionMapping(final @NonNull String key) {
+        return Optional.ofNullable(this.optionMapping(key));
+    }
+
+    /**
+     * Returns the option mapping with the given {@code key}, or {@code null} if it does not exist.
+     *
+     * <p>The key is case-insensitive.</p>
+     *
+     * @param key mapping key
+     * @return the mapping, or {@code null}
+     */
+    default @Nullable OptionMapping optionMapping(final @NonNull String key) {
         Objects.requireNonNull(key, "key");
-        return this.optionMappings().stream().filter(mapping -> mapping.getName().equalsIgnoreCase(key)).findFirst();
+        return this.optionMappingIndex().get(key.toLowerCase(Locale.ROOT));
     }
 
 
@@ -35,6 +35,7 @@ import net.dv8tion.jda.api.entities.channel.Channel;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.discord.slash.DiscordOptionType;
+import org.incendo.cloud.discord.slash.OptionTypeMask;
 
 /**
  * Extension of {@link DiscordOptionType} for JDA-specific classes.
@@ -73,6 +74,7 @@ public final class JDAOptionType {
     public static final Collection<@NonNull DiscordOptionType<?>> JDA_TYPES = Collections.unmodifiableCollection(
             Arrays.asList(USER, CHANNEL, ROLE, MENTIONABLE, ATTACHMENT)
     );
+    public static final @NonNull OptionTypeMask JDA_TYPE_MASK = OptionTypeMask.of(JDA_TYPES);
 
     private JDAOptionType() {
     }
@@ -119,15 +119,20 @@ public final class JDAParser<C, T> extends NullableParser<C, T> {
             final @NonNull CommandInput commandInput
     ) {
         final JDAInteraction interaction = commandContext.get(JDA6CommandManager.CONTEXT_JDA_INTERACTION);
-        return interaction.getOptionMapping(commandInput.readString())
-                .map(mapping -> {
-                    try {
-                        return this.extractor.apply(mapping);
-                    } catch (final IllegalStateException ignored) {
-                        return null;
-                    }
-                })
-                .map(ArgumentParseResult::successFuture)
-                .orElseGet(() -> CompletableFuture.completedFuture(null));
+        final OptionMapping mapping = interaction.optionMapping(commandInput.readString());
+        if (mapping == null) {
+            return nullResult();
+        }
+
+        final T value;
+        try {
+            value = this.extractor.apply(mapping);
+        } catch (final IllegalStateException ignored) {
+            return nullResult();
+        }
+        if (value == null) {
+            return nullResult();
+        }
+        return ArgumentParseResult.successFuture(value);
     }
 }
@@ -27,9 +27,11 @@ import io.leangen.geantyref.TypeToken;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import net.dv8tion.jda.api.interactions.InteractionContextType;
 import net.dv8tion.jda.api.interactions.commands.Command;
@@ -43,7 +45,10 @@ import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
 import net.dv8tion.jda.api.interactions.commands.build.SubcommandGroupData;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.discord.slash.CachingDiscordCommandFactory;
+import org.incendo.cloud.discord.slash.CommandHasher;
 import org.incendo.cloud.discord.slash.CommandScope;
 import org.incendo.cloud.discord.slash.CommandScopePredicate;
 import org.incendo.cloud.discord.slash.DiscordCommand;
@@ -52,6 +57,8 @@ import org.incendo.cloud.discord.slash.DiscordOption;
 import org.incendo.cloud.discord.slash.DiscordOptionChoice;
 import org.incendo.cloud.discord.slash.DiscordOptionType;
 import org.incendo.cloud.discord.slash.DiscordPermission;
+import org.incendo.cloud.discord.slash.DiscordRegistrationHandler;
+import org.incendo.cloud.discord.slash.GuildIndex;
 import org.incendo.cloud.discord.slash.NodeProcessor;
 import org.incendo.cloud.discord.slash.OptionRegistry;
 import org.incendo.cloud.discord.slash.StandardDiscordCommandFactory;
@@ -71,15 +78,21 @@ final class StandardJDACommandFactory<C> implements JDACommandFactory<C> {
     private final CommandTree<C> commandTree;
     private final DiscordCommandFactory<C> discordCommandFactory;
     private final NodeProcessor<C> nodeProcessor;
+    private final Map<List<CommandNode<C>>, GeneratedCommands> commandCache = new ConcurrentHashMap<>();
 
     private CommandScopePredicate<C> commandScopePredicate = CommandScopePredicate.alwaysTrue();
+    private volatile long cacheVersion = -1L;
 
     /**
      * Creates a new command factory.
      *
-     * @param commandTree command tree to retrieve commands from
+     * @param commandTree         command tree to retrieve commands from
+     * @param registrationHandler registration handler that tracks changes to the command tree
      */
-    StandardJDACommandFactory(final @NonNull CommandTree<C> commandTree) {
+    StandardJDACommandFactory(
+            final @NonNull CommandTree<C> commandTree,
+            final @NonNull DiscordRegistrationHandler<C> registrationHandler
+    ) {
         this.commandTree = Objects.requireNonNull(commandTree, "commandTree");
 
         final OptionRegistry<C> optionRegistry = new StandardOptionRegistry<>();
@@ -90,9 +103,11 @@ final class StandardJDACommandFactory<C> implements JDACommandFactory<C> {
                 .registerMapping(JDAOptionType.MENTIONABLE, JDAParser.mentionableParser())
                 .registerMapping(JDAOptionType.ATTACHMENT, JDAParser.attachmentParser());
 
-        this.discordCommandFactory = new StandardDiscordCommandFactory<>(optionRegistry);
-
-        this.nodeProcessor = new NodeProcessor<>(this.commandTree);
+        this.nodeProcessor = new NodeProcessor<>(this.commandTree, registrationHandler);
+        this.discordCommandFactory = new CachingDiscordCommandFactory<>(
+                new StandardDiscordCommandFactory<>(optionRegistry),
+                this.nodeProcessor
+        );
     }
 
     @Override
@@ -101,22 +116,60 @@ final class StandardJDACommandFactory<C> implements JDACommandFactory<C> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public @NonNull Collection<@NonNull CommandData> createCommands(final @NonNull CommandScope<C> scope) {
-        this.nodeProcessor.prepareTree();
+        return this.generateCommands(scope).commands;
+    }
 
-        final List<CommandData> commands = new ArrayList<>();
-        for (final CommandNode<C> rootNode : this.commandTree.rootNodes()) {
-            final CommandScope<C> rootScope = (CommandScope<C>) rootNode.nodeMeta().get(NodeProcessor.NODE_META_SCOPE);
-            if (!rootScope.overlaps(scope)) {
-                continue;
-            }
+    @Override
+    public @NonNull String commandHash(final @NonNull CommandScope<C> scope) {
+        return this.generateCommands(scope).hash;
+    }
+
+    @Override
+    public @NonNull GuildIndex guildIndex() {
+        this.prepareTree();
+        return this.nodeProcessor.guildIndex();
+    }
+
+    @Override
+    public @Nullable CommandScope<C> processedScope(final @NonNull String rootName) {
+        return this.nodeProcessor.processedScope(rootName);
+    }
+
+    private @NonNull GeneratedCommands generateCommands(final @NonNull CommandScope<C> scope) {
+        this.prepareTree();
 
-            if (!this.commandScopePredicate.test(rootNode, scope)) {
-                continue;
+        // The generated commands only depend on which root nodes end up in the scope, so we use those as the cache key.
+        // This way every guild that receives the same set of commands shares the same command data.
+        final List<CommandNode<C>> rootNodes = this.nodeProcessor.rootNodes(scope);
+        rootNodes.removeIf(rootNode -> !this.commandScopePredicate.test(rootNode, scope));
+
+        return this.commandCache.computeIfAbsent(rootNodes, this::createCommandData);
+    }
+
+    private void prepareTree() {
+        this.nodeProcessor.prepareTree();
+        final long version = this.nodeProcessor.version();
+        if (version == this.cacheVersion) {
+            return;
+        }
+        synchronized (this.commandCache) {
+            if (version == this.cacheVersion) {
+                return;
             }
+            this.commandCache.clear();
+            this.cacheVersion = version;
+        }
+    }
 
+    @SuppressWarnings("unchecked")
+    private @NonNull GeneratedCommands createCommandData(final @NonNull List<@NonNull CommandNode<C>> rootNodes) {
+        final List<CommandData> commands = new ArrayList<>();
+        final CommandHasher hasher = CommandHasher.commandHasher();
+        for (final CommandNode<C> rootNode : rootNodes) {
+            final CommandScope<C> rootScope = (CommandScope<C>) rootNode.nodeMeta().get(NodeProcessor.NODE_META_SCOPE);
             final DiscordCommand<C> command = this.discordCommandFactory.create(rootNode);
+            hasher.putCommand(command);
             SlashCommandData data = Commands.slash(command.name(), command.description());
             for (final DiscordOption<C> option : command.options()) {
                 if (option instanceof DiscordOption.SubCommand) {
@@ -131,6 +184,7 @@ final class StandardJDACommandFactory<C> implements JDACommandFactory<C> {
             }
 
             // It's the best we've got
+            String defaultPermission = "";
             if (rootNode.command() != null) {
                 final Map<Type, Permission> accessMap = rootNode.nodeMeta().getOrNull(CommandNode.META_KEY_ACCESS);
                 final Type senderType = rootNode.command().senderType().map(TypeToken::getType).orElse(null);
@@ -138,17 +192,21 @@ final class StandardJDACommandFactory<C> implements JDACommandFactory<C> {
                     final Permission permission = accessMap.get(senderType);
                     if (permission instanceof DiscordPermission) {
                         data.setDefaultPermissions(DefaultMemberPermissions.enabledFor(((DiscordPermission) permission).permission()));
+                        defaultPermission = permission.permissionString();
                     }
                 }
             }
+            hasher.putString(defaultPermission);
 
-            if (rootScope instanceof CommandScope.Guilds) {
+            final boolean guildOnly = rootScope instanceof CommandScope.Guilds;
+            if (guildOnly) {
                 data.setContexts(InteractionContextType.GUILD);
             }
+            hasher.putBoolean(guildOnly);
 
             commands.add(data);
         }
-        return commands;
+        return new GeneratedCommands(Collections.unmodifiableList(commands), hasher.hash());
     }
 
     private @NonNull SubcommandData createSubCommand(final DiscordOption.@NonNull SubCommand<C> option) {
@@ -207,4 +265,16 @@ final class StandardJDACommandFactory<C> implements JDACommandFactory<C> {
             return new Command.Choice(choice.name(), choice.value().toString());
         }).collect(Collectors.toList());
     }
+
+
+    private static final class GeneratedCommands {
+
+        private final List<CommandData> commands;
+        private final String hash;
+
+        private GeneratedCommands(final @NonNull List<@NonNull CommandData> commands, final @NonNull String hash) {
+            this.commands = commands;
+            this.hash = hash;
+        }
+    }
 }
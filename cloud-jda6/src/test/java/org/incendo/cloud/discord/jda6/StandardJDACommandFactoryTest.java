@@ -34,6 +34,7 @@ import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
 import org.incendo.cloud.description.Description;
 import org.incendo.cloud.discord.slash.CommandScope;
 import org.incendo.cloud.discord.slash.DiscordChoices;
+import org.incendo.cloud.discord.slash.GuildIndex;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -115,4 +116,46 @@ class StandardJDACommandFactoryTest {
         assertThat(fooOptions.get(1).isRequired()).isFalse();
         assertThat(fooOptions.get(1).isAutoComplete()).isFalse();
     }
+
+    @Test
+    void testCommandCaching() {
+        // Arrange
+        this.commandManager.command(this.commandManager.commandBuilder("global"));
+        this.commandManager.command(
+                this.commandManager.commandBuilder("guild").apply(CommandScope.guilds(1L, 2L))
+        );
+
+        // Act
+        final Collection<CommandData> first = this.commandFactory.createCommands(CommandScope.guilds(-1, 1L));
+        final Collection<CommandData> second = this.commandFactory.createCommands(CommandScope.guilds(-1, 2L));
+        final Collection<CommandData> other = this.commandFactory.createCommands(CommandScope.guilds(-1, 3L));
+        this.commandManager.command(this.commandManager.commandBuilder("another").apply(CommandScope.guilds(1L)));
+        final Collection<CommandData> updated = this.commandFactory.createCommands(CommandScope.guilds(-1, 1L));
+
+        // Assert
+        assertThat(first).hasSize(1);
+        assertThat(second).isSameInstanceAs(first);
+        assertThat(other).isEmpty();
+        assertThat(updated).isNotSameInstanceAs(first);
+        assertThat(updated).hasSize(2);
+    }
+
+    @Test
+    void testGuildIndex() {
+        // Arrange
+        this.commandManager.command(this.commandManager.commandBuilder("global"));
+        this.commandManager.command(
+                this.commandManager.commandBuilder("guild").apply(CommandScope.guilds(1L, 2L))
+        );
+
+        // Act
+        final GuildIndex guildIndex = this.commandFactory.guildIndex();
+
+        // Assert
+        assertThat(guildIndex.isAllGuilds()).isFalse();
+        assertThat(guildIndex.hasCommands(1L)).isTrue();
+        assertThat(guildIndex.hasCommands(2L)).isTrue();
+        assertThat(guildIndex.hasCommands(3L)).isFalse();
+    }
+
 }
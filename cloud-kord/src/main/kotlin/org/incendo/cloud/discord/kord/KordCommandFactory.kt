@@ -26,7 +26,9 @@ package org.incendo.cloud.discord.kord
 import dev.kord.core.Kord
 import dev.kord.core.entity.Guild
 import org.apiguardian.api.API
+import org.incendo.cloud.discord.slash.CommandScope
 import org.incendo.cloud.discord.slash.CommandScopePredicate
+import org.incendo.cloud.discord.slash.GuildIndex
 
 /**
  * Factory that creates commands.
@@ -42,6 +44,32 @@ public interface KordCommandFactory<C> {
      */
     public var commandScopePredicate: CommandScopePredicate<C>
 
+    /**
+     * Returns the content hash of the commands that would be created for the given [scope], or `null` if the
+     * implementation is unable to compute a hash, in which case the commands are always registered.
+     *
+     * The hash is used to skip registrations that would not change the commands known to Discord.
+     *
+     * @see org.incendo.cloud.discord.slash.CommandHasher
+     */
+    public fun commandHash(scope: CommandScope<C>): String? = null
+
+    /**
+     * Returns the index of the guilds that have guild-scoped commands.
+     *
+     * Guild command registrations are skipped for guilds that are not part of the index. Implementations that are unable
+     * to determine the scoped guilds should return [GuildIndex.allGuilds].
+     */
+    public fun guildIndex(): GuildIndex = GuildIndex.allGuilds()
+
+    /**
+     * Returns the scope that the root command with the given [rootName] had when the commands were last created.
+     *
+     * This is used to determine which scopes are affected when a root command is removed. Implementations that do not
+     * keep track of the scopes should return `null`, in which case all scopes are considered to be affected.
+     */
+    public fun processedScope(rootName: String): CommandScope<C>? = null
+
     /**
      * Creates the commands for the given [guild].
      */
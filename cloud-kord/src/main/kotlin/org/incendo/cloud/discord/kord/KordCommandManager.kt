@@ -27,15 +27,34 @@ import dev.kord.core.Kord
 import dev.kord.core.entity.Member
 import dev.kord.core.entity.User
 import dev.kord.core.entity.interaction.GuildInteraction
-import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
 import org.apiguardian.api.API
 import org.incendo.cloud.CommandManager
+import org.incendo.cloud.context.CommandContext
+import org.incendo.cloud.discord.slash.AutocompleteTracker
+import org.incendo.cloud.discord.slash.CommandRouteTable
+import org.incendo.cloud.discord.slash.DiscordRegistrationHandler
+import org.incendo.cloud.discord.slash.RegistrationDebouncer
+import org.incendo.cloud.discord.slash.RegistrationLedger
+import org.incendo.cloud.discord.slash.RegistrationScheduler
+import org.incendo.cloud.discord.slash.ScopeChanges
+import org.incendo.cloud.discord.slash.SuggestionCache
+import org.incendo.cloud.discord.slash.SuggestionSelector
 import org.incendo.cloud.execution.ExecutionCoordinator
-import org.incendo.cloud.internal.CommandRegistrationHandler
 import org.incendo.cloud.key.CloudKey
 import org.incendo.cloud.setting.Configurable
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
+import java.time.Duration
+import kotlin.coroutines.CoroutineContext
 
 /**
  * Command manager for Kord.
@@ -44,17 +63,34 @@ import org.slf4j.LoggerFactory
  * @since 1.0.0
  */
 @API(status = API.Status.STABLE, since = "1.0.0")
-public class KordCommandManager<C : Any>(
+public class KordCommandManager<C : Any> private constructor(
     executionCoordinator: ExecutionCoordinator<C>,
-    public val senderMapper: (KordInteraction) -> C
+    public val senderMapper: (KordInteraction) -> C,
+    registrationHandler: DiscordRegistrationHandler<C>
 ) : CommandManager<C>(
     executionCoordinator,
-    CommandRegistrationHandler.nullCommandRegistrationHandler()
-) {
+    registrationHandler
+), AutoCloseable {
+
+    /**
+     * Creates a new command manager.
+     *
+     * @param executionCoordinator execution coordinator instance
+     * @param senderMapper mapper from [KordInteraction] to [C]
+     */
+    public constructor(
+        executionCoordinator: ExecutionCoordinator<C>,
+        senderMapper: (KordInteraction) -> C
+    ) : this(executionCoordinator, senderMapper, DiscordRegistrationHandler())
 
     public companion object {
         private val LOGGER: Logger = LoggerFactory.getLogger(KordCommandManager::class.java)
 
+        /**
+         * Maximum number of error message replies that are sent concurrently by the default exception handlers.
+         */
+        private const val MAX_CONCURRENT_EXCEPTION_REPLIES: Int = 16
+
         /**
          * Stores the interaction. This should be accessed using [cloud.commandframework.context.CommandContext.interaction].
          */
@@ -62,8 +98,42 @@ public class KordCommandManager<C : Any>(
             "cloud:interaction",
             KordInteraction::class.java
         )
+
+        /**
+         * Stores the [coroutineScope] of the command manager that handles the interaction.
+         */
+        internal val CONTEXT_COROUTINE_SCOPE: CloudKey<CoroutineScope> = CloudKey.of(
+            "cloud:kord_coroutine_scope",
+            CoroutineScope::class.java
+        )
+
+        /**
+         * Stores the coroutine context of the Kord event that triggered the command.
+         */
+        internal val CONTEXT_COROUTINE_CONTEXT: CloudKey<CoroutineContext> = CloudKey.of(
+            "cloud:kord_coroutine_context",
+            CoroutineContext::class.java
+        )
     }
 
+    /**
+     * Scope that owns the coroutines that are launched by the command manager, such as suspending argument parsers.
+     *
+     * The scope is cancelled when the manager is [closed][close].
+     */
+    public val coroutineScope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+
+    /**
+     * Function that sends the error [message][String] of the default exception handlers.
+     */
+    internal var exceptionReplier: suspend (CommandContext<C>, String) -> Unit = { context, message ->
+        context.interaction.respondEphemeral {
+            content = message
+        }
+    }
+
+    private val exceptionReplyPermits = Semaphore(MAX_CONCURRENT_EXCEPTION_REPLIES)
+
     /**
      * Kord-specific settings.
      */
@@ -72,7 +142,65 @@ public class KordCommandManager<C : Any>(
     /**
      * Factory that creates Kord commands from Cloud commands.
      */
-    public var commandFactory: KordCommandFactory<C> = StandardKordCommandFactory<C>(this.commandTree())
+    public var commandFactory: KordCommandFactory<C> = StandardKordCommandFactory<C>(this.commandTree(), registrationHandler)
+
+    /**
+     * Ledger that keeps track of the commands that have been registered to Discord.
+     *
+     * Use a persistent ledger, such as [RegistrationLedger.file], to avoid pushing unchanged commands when the bot restarts.
+     */
+    public var registrationLedger: RegistrationLedger = RegistrationLedger.inMemory()
+
+    /**
+     * Scheduler that executes the command registrations.
+     */
+    public var registrationScheduler: RegistrationScheduler = RegistrationScheduler.create()
+
+    /**
+     * Selector that picks the autocomplete choices from the generated suggestions.
+     */
+    public var suggestionSelector: SuggestionSelector = SuggestionSelector.first()
+
+    /**
+     * Cache that reuses the suggestions of previous autocomplete interactions, or `null` if the suggestions are not cached.
+     *
+     * The suggestions are not cached by default. See [SuggestionCache] for the behavior of the cache.
+     */
+    public var suggestionCache: SuggestionCache? = null
+
+    /**
+     * Tracker that cancels autocomplete suggestions once a newer interaction supersedes them.
+     */
+    public val autocompleteTracker: AutocompleteTracker = AutocompleteTracker()
+
+    private val registrationDebouncer: RegistrationDebouncer<C> = RegistrationDebouncer(
+        this.commandTree(),
+        registrationHandler,
+        { rootName -> commandFactory.processedScope(rootName) },
+        { kordSettings[KordSetting.REGISTER_ON_CHANGE] },
+        ::registerChanges
+    )
+
+    /**
+     * Window used to debounce re-registrations when [KordSetting.REGISTER_ON_CHANGE] is enabled.
+     *
+     * Changes to the command tree are collected until no changes have been made for the duration of the window, after which
+     * the commands are registered once per affected scope.
+     */
+    public var reregistrationWindow: Duration
+        get() = registrationDebouncer.window()
+        set(value) = registrationDebouncer.window(value)
+
+    /**
+     * Table that maps full slash command paths to their routes.
+     */
+    internal val routeTable: CommandRouteTable<C> = CommandRouteTable(this.commandTree(), registrationHandler)
+
+    @Volatile
+    private var kord: Kord? = null
+
+    @Volatile
+    private var eventListener: KordEventListener<C>? = null
 
     /**
      * Predicate used to evaluate sender permissions.
@@ -112,17 +240,56 @@ public class KordCommandManager<C : Any>(
      * Installs the event listener that handles command registration, execution and autocompletion.
      */
     public fun installListener(kord: Kord) {
-        KordEventListener(this).registerEvents(kord)
+        val eventListener = KordEventListener(this)
+        this.kord = kord
+        this.eventListener = eventListener
+        eventListener.registerEvents(kord)
+        // The coroutines of the manager should not outlive the connection.
+        kord.coroutineContext[Job]?.invokeOnCompletion { close() }
+    }
+
+    /**
+     * Closes the manager by cancelling the [coroutineScope], including any error replies that are still in flight, and by
+     * stopping the debouncer of [KordSetting.REGISTER_ON_CHANGE] re-registrations.
+     *
+     * The manager is closed automatically once the [Kord] instance that the listener has been installed to shuts down. The
+     * [registrationLedger] is not closed, as it is owned by the caller.
+     */
+    override fun close() {
+        coroutineScope.cancel()
+        registrationDebouncer.close()
     }
 
     override fun hasPermission(sender: C, permission: String): Boolean = permissionPredicate(sender, permission)
 
+    private fun registerChanges(changes: ScopeChanges) {
+        // The commands will be registered once the listener has been installed.
+        val kord = this.kord ?: return
+        val eventListener = this.eventListener ?: return
+        kord.launch {
+            try {
+                eventListener.registerChanges(kord, changes)
+            } catch (e: Exception) {
+                LOGGER.error("Failed to register changed commands", e)
+            }
+        }
+    }
+
     private fun registerDefaultExceptionHandlers() {
         registerDefaultExceptionHandlers(
-            {
-                runBlocking {
-                    it.first().interaction.respondEphemeral {
-                        content = it.first().formatCaption(it.second(), it.third())
+            { triplet ->
+                val context = triplet.first()
+                val message = context.formatCaption(triplet.second(), triplet.third())
+                // Replying requires a REST round trip, which must not block the thread that handles the exception.
+                coroutineScope.launch {
+                    exceptionReplyPermits.withPermit {
+                        try {
+                            exceptionReplier(context, message)
+                        } catch (e: CancellationException) {
+                            throw e
+                        } catch (e: Exception) {
+                            LOGGER.error("Failed to reply to interaction with error message", e)
+                        }
                     }
                 }
             },
@@ -28,6 +28,7 @@ import dev.kord.core.Kord
 import dev.kord.core.behavior.interaction.suggestInteger
 import dev.kord.core.behavior.interaction.suggestNumber
 import dev.kord.core.behavior.interaction.suggestString
+import dev.kord.core.entity.Guild
 import dev.kord.core.entity.interaction.GroupCommand
 import dev.kord.core.entity.interaction.IntegerOptionValue
 import dev.kord.core.entity.interaction.InteractionCommand
@@ -39,11 +40,22 @@ import dev.kord.core.event.guild.GuildCreateEvent
 import dev.kord.core.event.interaction.AutoCompleteInteractionCreateEvent
 import dev.kord.core.event.interaction.ChatInputCommandInteractionCreateEvent
 import dev.kord.core.on
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.currentCoroutineContext
 import kotlinx.coroutines.future.await
+import kotlinx.coroutines.future.future
 import org.apiguardian.api.API
 import org.incendo.cloud.context.CommandContextFactory
 import org.incendo.cloud.context.StandardCommandContextFactory
-import org.incendo.cloud.util.StringUtils
+import org.incendo.cloud.discord.slash.CommandScope
+import org.incendo.cloud.discord.slash.DiscordOptionChoice
+import org.incendo.cloud.discord.slash.RegistrationLedger
+import org.incendo.cloud.discord.slash.RegistrationRequest
+import org.incendo.cloud.discord.slash.ScopeChanges
+import org.incendo.cloud.discord.slash.SuggestionSelector
+import org.incendo.cloud.discord.slash.TypedOptionValues
+import org.incendo.cloud.suggestion.Suggestions
+import java.util.concurrent.CompletableFuture
 
 /**
  * Kord event listener which handles command registration, execution and autocompletion.
@@ -72,34 +84,97 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
     }
 
     private suspend fun ReadyEvent.listen() {
-        if (commandManager.kordSettings[KordSetting.CLEAR_EXISTING]) {
-            commandManager.commandFactory.deleteGlobalCommands(kord)
+        registerGlobal(kord)
+    }
+
+    private suspend fun GuildCreateEvent.listen() {
+        registerGuild(guild)
+    }
+
+    /**
+     * Registers the commands for the scopes that were affected by changes to the command tree.
+     */
+    internal suspend fun registerChanges(kord: Kord, changes: ScopeChanges) {
+        if (changes.global()) {
+            registerGlobal(kord)
         }
-        if (commandManager.kordSettings[KordSetting.AUTO_REGISTER_GLOBAL]) {
-            commandManager.commandFactory.createGlobalCommands(kord)
+        if (changes.guilds().isAllGuilds) {
+            kord.guilds.collect { registerGuild(it) }
+        } else {
+            changes.guilds().guilds().forEach { guildId ->
+                kord.getGuildOrNull(Snowflake(guildId))?.let { registerGuild(it) }
+            }
         }
     }
 
-    private suspend fun GuildCreateEvent.listen() {
-        if (commandManager.kordSettings[KordSetting.CLEAR_EXISTING]) {
-            commandManager.commandFactory.deleteGuildCommands(guild)
+    private suspend fun registerGlobal(kord: Kord) {
+        schedule(kord, RegistrationRequest.global()) {
+            val register = commandManager.kordSettings[KordSetting.AUTO_REGISTER_GLOBAL]
+            val hash = if (register) commandManager.commandFactory.commandHash(CommandScope.global()) else null
+            if (hash != null && commandManager.registrationLedger.isUpToDate(RegistrationLedger.GLOBAL_SCOPE, hash)) {
+                return@schedule
+            }
+
+            if (commandManager.kordSettings[KordSetting.CLEAR_EXISTING]) {
+                commandManager.commandFactory.deleteGlobalCommands(kord)
+            }
+            if (register) {
+                commandManager.commandFactory.createGlobalCommands(kord)
+                hash?.let { commandManager.registrationLedger.record(RegistrationLedger.GLOBAL_SCOPE, it) }
+            }
         }
-        if (commandManager.kordSettings[KordSetting.AUTO_REGISTER_GUILD]) {
-            commandManager.commandFactory.createGuildCommands(guild)
+    }
+
+    private suspend fun registerGuild(guild: Guild) {
+        val guildId = guild.id.value.toLong()
+        val register = commandManager.kordSettings[KordSetting.AUTO_REGISTER_GUILD]
+        if (register && !commandManager.commandFactory.guildIndex().shouldRegister(guildId, commandManager.registrationLedger)) {
+            return
+        }
+
+        schedule(guild.kord, RegistrationRequest.guild(guildId, guild.memberCount ?: 0)) {
+            val hash = if (register) commandManager.commandFactory.commandHash(CommandScope.guilds(-1, guildId)) else null
+            if (hash != null && commandManager.registrationLedger.isUpToDate(guildId, hash)) {
+                return@schedule
+            }
+
+            if (commandManager.kordSettings[KordSetting.CLEAR_EXISTING]) {
+                commandManager.commandFactory.deleteGuildCommands(guild)
+            }
+            if (register) {
+                commandManager.commandFactory.createGuildCommands(guild)
+                hash?.let { commandManager.registrationLedger.record(guildId, it) }
+            }
         }
     }
 
+    /**
+     * Submits the [registration] to the [KordCommandManager.registrationScheduler] and suspends until it has been executed.
+     */
+    private suspend fun schedule(kord: Kord, request: RegistrationRequest, registration: suspend () -> Unit) {
+        commandManager.registrationScheduler.submit(request) { kord.future { registration() } }.await()
+    }
+
     private suspend fun ChatInputCommandInteractionCreateEvent.listen() {
         val command = interaction.command
-        val fullCommand = command.buildCommand()
+        val typedOptionValues = TypedOptionValues()
+        val fullCommand = command.buildCommand(typedOptionValues = typedOptionValues)
 
         val kordInteraction = KordInteraction(command, this)
+        val eventContext = currentCoroutineContext()
 
         try {
             commandManager.commandExecutor().executeCommand(
                 commandManager.senderMapper(kordInteraction),
                 fullCommand,
-            ) { context -> context[KordCommandManager.CONTEXT_INTERACTION] = kordInteraction }.await()
+            ) { context ->
+                context[KordCommandManager.CONTEXT_INTERACTION] = kordInteraction
+                context[KordCommandManager.CONTEXT_COROUTINE_SCOPE] = commandManager.coroutineScope
+                context[KordCommandManager.CONTEXT_COROUTINE_CONTEXT] = eventContext
+                if (!typedOptionValues.isEmpty) {
+                    context[TypedOptionValues.CONTEXT_KEY] = typedOptionValues
+                }
+            }.await()
         } catch (_: Exception) {
             // Exceptions are handled by the exception controller.
         }
@@ -108,7 +183,8 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
     private suspend fun AutoCompleteInteractionCreateEvent.listen() {
         val command = interaction.command
 
-        var fullCommand = command.buildCommand()
+        val focusedOption = command.options.entries.firstOrNull { it.value.focused }?.key
+        var fullCommand = command.buildCommand(focusedOption = focusedOption)
         if (this.interaction.focusedOption.value.isEmpty()) {
             fullCommand = "$fullCommand "
         }
@@ -120,31 +196,41 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
             commandManager.senderMapper(kordInteraction)
         )
         commandContext[KordCommandManager.CONTEXT_INTERACTION] = kordInteraction
+        commandContext[KordCommandManager.CONTEXT_COROUTINE_SCOPE] = commandManager.coroutineScope
+        commandContext[SuggestionSelector.CONTEXT_SUGGESTION_LIMIT] = SuggestionSelector.MAX_CHOICES
 
         val type = command.options.values.first(OptionValue<*>::focused)
 
-        val suggestions = commandManager.suggestionFactory().suggest(commandContext, fullCommand).await().let { suggestions ->
-            suggestions.list()
-                .asSequence()
-                .map { suggestion ->
-                    if (" " in suggestion.suggestion()) {
-                        suggestion.withSuggestion(
-                            StringUtils.trimBeforeLastSpace(
-                                suggestion.suggestion(),
-                                suggestions.commandInput()
-                            )!!
-                        )
-                    } else {
-                        suggestion
-                    }
-                }.filterNot { it.suggestion().isEmpty() }
+        val user = interaction.user.id.value.toLong()
+        val commandPath = command.commandPath()
+        val option = focusedOption ?: ""
+        val suggestionCache = commandManager.suggestionCache
+        val future: CompletableFuture<out Suggestions<C, *>> = if (suggestionCache == null) {
+            commandManager.suggestionFactory().suggest(commandContext, fullCommand)
+        } else {
+            suggestionCache.suggest(user, commandPath, option, fullCommand, commandContext) {
+                commandManager.suggestionFactory().suggest(commandContext, fullCommand)
+            }
         }
+        val tracked = commandManager.autocompleteTracker.track(user, commandPath, option, future)
+        val generated = try {
+            tracked.await()
+        } catch (e: CancellationException) {
+            // Superseded suggestions are dropped, as Discord only uses the response to the most recent interaction.
+            if (tracked.isCancelled) {
+                return
+            }
+            throw e
+        }
+        val suggestions = commandManager.suggestionSelector.select(generated, SuggestionSelector.MAX_CHOICES)
 
+        // Option choices are shown by their name, but Discord has to receive their value.
         when (type) {
             is IntegerOptionValue -> {
                 interaction.suggestInteger {
                     suggestions.forEach {
-                        choice(it.suggestion(), it.suggestion().toLong()) {
+                        val value = DiscordOptionChoice.choiceValue(it)
+                        choice(it.suggestion(), (value as? Number)?.toLong() ?: value.toString().toLong()) {
                         }
                     }
                 }
@@ -152,7 +238,8 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
             is NumberOptionValue -> {
                 interaction.suggestNumber {
                     suggestions.forEach {
-                        choice(it.suggestion(), it.suggestion().toDouble()) {
+                        val value = DiscordOptionChoice.choiceValue(it)
+                        choice(it.suggestion(), (value as? Number)?.toDouble() ?: value.toString().toDouble()) {
                         }
                     }
                 }
@@ -160,7 +247,7 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
             else -> {
                 interaction.suggestString {
                     suggestions.forEach {
-                        choice(it.suggestion(), it.suggestion()) {
+                        choice(it.suggestion(), DiscordOptionChoice.choiceValue(it).toString()) {
                         }
                     }
                 }
@@ -168,24 +255,34 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
         }
     }
 
-    private fun InteractionCommand.buildCommand(): String = buildString {
-        append(rootName)
-        when (this@buildCommand) {
-            is GroupCommand -> {
-                append(" ").append(groupName).append(" ").append(name)
-            }
-            is SubCommand -> {
-                append(" ").append(name)
-            }
-            else -> {}
-        }
+    /**
+     * Serializes the command into a command string. The typed integer, number and boolean options are stored in the
+     * [typedOptionValues], if present and if the route of the command has typed options.
+     *
+     * The options are written in the order of the [org.incendo.cloud.discord.slash.CommandRoute] of the command, as Discord
+     * delivers them in the order that the user entered them. When autocompleting, the options that follow the
+     * [focusedOption] are dropped, as the focused option has to be the last one.
+     */
+    private fun InteractionCommand.buildCommand(
+        focusedOption: String? = null,
+        typedOptionValues: TypedOptionValues? = null
+    ): String = buildString {
+        append(commandPath())
 
-        options.forEach { (name, value) ->
+        val route = commandManager.routeTable.route(toString())
+        val collectedValues = typedOptionValues?.takeIf { route?.hasTypedOptions() == true }
+        orderedOptions(route?.arguments(), focusedOption).forEach { (name, value) ->
             append(" ")
-            when (value.value) {
+            when (val optionValue = value.value) {
                 is Snowflake -> {
                     append(name)
                 }
+                is Long, is Double, is Boolean -> {
+                    val position = length
+                    val token = optionValue.toString()
+                    append(token)
+                    collectedValues?.put(position, token, optionValue)
+                }
                 else -> {
                     append(value.value)
                 }
@@ -196,4 +293,34 @@ internal class KordEventListener<C : Any>(private val commandManager: KordComman
             return substring(0, length - 1)
         }
     }
+
+    /**
+     * Returns the full path of the command, with the root command, group and sub-command separated by a single space, in
+     * the same format as the [org.incendo.cloud.discord.slash.CommandRouteTable].
+     */
+    private fun InteractionCommand.commandPath(): String = when (this) {
+        is GroupCommand -> "$rootName $groupName $name"
+        is SubCommand -> "$rootName $name"
+        else -> rootName
+    }
+
+    private fun InteractionCommand.orderedOptions(
+        arguments: List<String>?,
+        focusedOption: String?
+    ): List<Pair<String, OptionValue<*>>> {
+        if (arguments == null || options.size <= 1) {
+            return options.toList()
+        }
+
+        val orderedOptions = ArrayList<Pair<String, OptionValue<*>>>(options.size)
+        for (argument in arguments) {
+            options[argument]?.let { orderedOptions += argument to it }
+            if (argument == focusedOption) {
+                return orderedOptions
+            }
+        }
+        // Options that are not part of the route are kept in the order that they were delivered in.
+        options.filterKeys { it !in arguments }.forEach { (name, value) -> orderedOptions += name to value }
+        return orderedOptions
+    }
 }
@@ -29,7 +29,6 @@ import dev.kord.core.entity.Role
 import dev.kord.core.entity.User
 import dev.kord.core.entity.channel.Channel
 import dev.kord.core.entity.interaction.InteractionCommand
-import kotlinx.coroutines.GlobalScope
 import kotlinx.coroutines.future.future
 import org.apiguardian.api.API
 import org.incendo.cloud.context.CommandContext
@@ -47,13 +46,17 @@ import java.util.concurrent.CompletableFuture
  * @since 1.0.0
  */
 @API(status = API.Status.STABLE, since = "1.0.0")
-public data class KordParser<C : Any, T : Any> internal constructor(
-    private val extract: suspend (
-        name: String,
-        command: InteractionCommand
-    ) -> ArgumentParseResult<T>?
+public data class KordParser<C : Any, T : Any> @PublishedApi internal constructor(
+    private val extract: ((name: String, command: InteractionCommand) -> ArgumentParseResult<T>?)?,
+    private val suspendingExtract: (suspend (name: String, command: InteractionCommand) -> ArgumentParseResult<T>?)? = null
 ) : NullableParser<C, T>() {
 
+    init {
+        require((extract == null) != (suspendingExtract == null)) {
+            "Exactly one of extract and suspendingExtract must be provided"
+        }
+    }
+
     public companion object {
 
         /**
@@ -99,15 +102,36 @@ public data class KordParser<C : Any, T : Any> internal constructor(
         public fun <C : Any> attachmentParser(): ParserDescriptor<C, Attachment> =
             createParser<C, Attachment> { name, command -> command.attachments[name]?.let { ArgumentParseResult.success(it) } }
 
-        private inline fun <C : Any, reified T : Any> createParser(
+        /**
+         * Returns a parser which extracts a value using the suspending [extract] function.
+         *
+         * The function is invoked in the [KordCommandManager.coroutineScope]. Prefer the non-suspending parsers when the
+         * value can be looked up without suspending, as those are parsed inline on the calling thread.
+         */
+        public inline fun <C : Any, reified T : Any> suspendingParser(
             noinline extract: suspend (name: String, command: InteractionCommand) -> ArgumentParseResult<T>?
+        ): ParserDescriptor<C, T> = ParserDescriptor.of(KordParser(null, extract), T::class.java)
+
+        private inline fun <C : Any, reified T : Any> createParser(
+            noinline extract: (name: String, command: InteractionCommand) -> ArgumentParseResult<T>?
         ): ParserDescriptor<C, T> = ParserDescriptor.of(KordParser(extract), T::class.java)
     }
 
     override fun parseNullable(
         commandContext: CommandContext<C>,
         commandInput: CommandInput
-    ): CompletableFuture<ArgumentParseResult<T>?> = GlobalScope.future {
-        extract(commandInput.readString(), commandContext.interaction.command)
+    ): CompletableFuture<ArgumentParseResult<T>?> {
+        val name = commandInput.readString()
+        val command = commandContext.interaction.command
+
+        if (extract != null) {
+            // The lookups are plain map reads, so there's no need to leave the calling thread.
+            val result = extract.invoke(name, command) ?: return NullableParser.nullResult()
+            return CompletableFuture.completedFuture(result)
+        }
+
+        val scope = commandContext.getOrDefault(KordCommandManager.CONTEXT_COROUTINE_SCOPE, null)
+            ?: commandContext.interaction.interactionEvent.kord
+        return scope.future { suspendingExtract!!(name, command) }
     }
 }
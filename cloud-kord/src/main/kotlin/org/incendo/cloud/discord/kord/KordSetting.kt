@@ -44,5 +44,13 @@ public enum class KordSetting : Setting {
     /**
      * Whether existing commands should be cleared. Defaults to `true`.
      */
-    CLEAR_EXISTING
+    CLEAR_EXISTING,
+
+    /**
+     * Whether commands should be registered again when the command tree changes after the initial registration.
+     * Changes are collected until no changes have been made for the duration of
+     * [KordCommandManager.reregistrationWindow], after which a single registration is made per affected scope.
+     * Defaults to `false`.
+     */
+    REGISTER_ON_CHANGE
 }
@@ -0,0 +1,79 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.kord
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.future.future
+import org.incendo.cloud.context.CommandContext
+import org.incendo.cloud.execution.CommandExecutionHandler
+import org.incendo.cloud.kotlin.MutableCommandBuilder
+import java.util.concurrent.CompletableFuture
+import kotlin.coroutines.EmptyCoroutineContext
+
+/**
+ * Sets a suspending handler that runs in the coroutine context of the Kord event that triggered the command.
+ *
+ * The handler starts on the calling thread, and resumes on the dispatcher of the event after suspending. The handler is
+ * owned by the [KordCommandManager.coroutineScope] rather than by the event coroutine, so a failing handler only fails
+ * the command execution, which is then handled by the exception controller. Cancelling the event coroutine cancels the
+ * handler.
+ *
+ * The builder has to belong to a [KordCommandManager].
+ */
+public fun <C : Any> MutableCommandBuilder<C>.kordSuspendingHandler(
+    handler: suspend (CommandContext<C>) -> Unit
+): MutableCommandBuilder<C> {
+    val commandManager = this.commandManager
+    require(commandManager is KordCommandManager<*>) { "kordSuspendingHandler requires a KordCommandManager" }
+    return handler(KordSuspendingExecutionHandler(commandManager.coroutineScope, handler))
+}
+
+internal class KordSuspendingExecutionHandler<C : Any>(
+    private val defaultScope: CoroutineScope,
+    private val handler: suspend (CommandContext<C>) -> Unit
+) : CommandExecutionHandler.FutureCommandExecutionHandler<C> {
+
+    override fun executeFuture(commandContext: CommandContext<C>): CompletableFuture<Void?> {
+        val scope = commandContext.getOrDefault(KordCommandManager.CONTEXT_COROUTINE_SCOPE, null) ?: defaultScope
+        val eventContext = commandContext.getOrDefault(KordCommandManager.CONTEXT_COROUTINE_CONTEXT, null)
+            ?: EmptyCoroutineContext
+        // The event job is left out so that the handler does not become a child of the event coroutine. A failing child
+        // would cancel the event coroutine as well, reporting the failure twice.
+        val future = scope.future<Void?>(eventContext.minusKey(Job), CoroutineStart.UNDISPATCHED) {
+            handler(commandContext)
+            null
+        }
+
+        val eventJob = eventContext[Job] ?: return future
+        val cancellation = eventJob.invokeOnCompletion { cause ->
+            if (cause != null) {
+                future.cancel(false)
+            }
+        }
+        future.whenComplete { _, _ -> cancellation.dispose() }
+        return future
+    }
+}
@@ -49,6 +49,8 @@ import dev.kord.rest.builder.interaction.subCommand
 import dev.kord.rest.builder.interaction.user
 import org.apiguardian.api.API
 import org.incendo.cloud.CommandTree
+import org.incendo.cloud.discord.slash.CachingDiscordCommandFactory
+import org.incendo.cloud.discord.slash.CommandHasher
 import org.incendo.cloud.discord.slash.CommandScope
 import org.incendo.cloud.discord.slash.CommandScopePredicate
 import org.incendo.cloud.discord.slash.DiscordCommand
@@ -58,6 +60,8 @@ import org.incendo.cloud.discord.slash.DiscordOption.SubCommand
 import org.incendo.cloud.discord.slash.DiscordOption.Variable
 import org.incendo.cloud.discord.slash.DiscordOptionType
 import org.incendo.cloud.discord.slash.DiscordPermission
+import org.incendo.cloud.discord.slash.DiscordRegistrationHandler
+import org.incendo.cloud.discord.slash.GuildIndex
 import org.incendo.cloud.discord.slash.NodeProcessor
 import org.incendo.cloud.discord.slash.OptionRegistry
 import org.incendo.cloud.discord.slash.StandardDiscordCommandFactory
@@ -67,9 +71,13 @@ import org.incendo.cloud.internal.CommandNode
 @API(status = API.Status.STABLE, since = "1.0.0")
 internal class StandardKordCommandFactory<C : Any>(
     private val commandTree: CommandTree<C>,
+    registrationHandler: DiscordRegistrationHandler<C>,
     private val optionRegistry: OptionRegistry<C> = StandardOptionRegistry(),
-    private val discordCommandFactory: DiscordCommandFactory<C> = StandardDiscordCommandFactory(optionRegistry),
-    private val nodeProcessor: NodeProcessor<C> = NodeProcessor(commandTree),
+    private val nodeProcessor: NodeProcessor<C> = NodeProcessor(commandTree, registrationHandler),
+    private val discordCommandFactory: DiscordCommandFactory<C> = CachingDiscordCommandFactory(
+        StandardDiscordCommandFactory(optionRegistry),
+        nodeProcessor
+    ),
     override var commandScopePredicate: CommandScopePredicate<C> = CommandScopePredicate.alwaysTrue()
 ) : KordCommandFactory<C> {
 
@@ -82,6 +90,22 @@ internal class StandardKordCommandFactory<C : Any>(
             .registerMapping(KordOptionType.ATTACHMENT, KordParser.attachmentParser())
     }
 
+    override fun commandHash(scope: CommandScope<C>): String {
+        val hasher = CommandHasher.commandHasher()
+        rootNodes(scope).forEach { rootNode ->
+            hasher.putCommand(discordCommandFactory.create(rootNode))
+            hasher.putString(rootNode.defaultPermission() ?: "")
+        }
+        return hasher.hash()
+    }
+
+    override fun guildIndex(): GuildIndex {
+        nodeProcessor.prepareTree()
+        return nodeProcessor.guildIndex()
+    }
+
+    override fun processedScope(rootName: String): CommandScope<C>? = nodeProcessor.processedScope(rootName)
+
     override suspend fun createGuildCommands(guild: Guild) {
         guild.createApplicationCommands {
             createCommands(CommandScope.guilds(-1, guild.id.value.toLong()))
@@ -107,29 +131,12 @@ internal class StandardKordCommandFactory<C : Any>(
     }
 
     private fun MultiApplicationCommandBuilder.createCommands(scope: CommandScope<C>) {
-        nodeProcessor.prepareTree()
-
-        commandTree.rootNodes().forEach { rootNode ->
-            val rootScope = rootNode.nodeMeta().get(NodeProcessor.NODE_META_SCOPE) as CommandScope<C>
-            if (!rootScope.overlaps(scope)) {
-                return@forEach
-            }
-
-            if (!commandScopePredicate.test(rootNode, scope)) {
-                return@forEach
-            }
-
+        rootNodes(scope).forEach { rootNode ->
             val discordCommand = discordCommandFactory.create(rootNode)
             input(discordCommand.name(), discordCommand.description()) {
                 createCommand(discordCommand)
 
-                // It's the best we've got
-                val accessMap = rootNode.nodeMeta().getOrNull(CommandNode.META_KEY_ACCESS)
-                val senderType = rootNode.command().senderType().map { v -> v.type }.orElse(null)
-
-                accessMap?.get(senderType)
-                    ?.let { it as? DiscordPermission }
-                    ?.permissionString()
+                rootNode.defaultPermission()
                     ?.let { DiscordBitSet(it) }
                     ?.let(::Builder)
                     ?.let(Builder::build)
@@ -138,6 +145,20 @@ internal class StandardKordCommandFactory<C : Any>(
         }
     }
 
+    private fun rootNodes(scope: CommandScope<C>): List<CommandNode<C>> {
+        nodeProcessor.prepareTree()
+
+        return nodeProcessor.rootNodes(scope).filter { rootNode -> commandScopePredicate.test(rootNode, scope) }
+    }
+
+    private fun CommandNode<C>.defaultPermission(): String? {
+        // It's the best we've got
+        val accessMap = nodeMeta().getOrNull(CommandNode.META_KEY_ACCESS) ?: return null
+        val senderType = command()?.senderType()?.map { v -> v.type }?.orElse(null) ?: return null
+
+        return (accessMap[senderType] as? DiscordPermission)?.permissionString()
+    }
+
     private fun ChatInputCreateBuilder.createCommand(discordCommand: DiscordCommand<C>) {
         discordCommand.options().forEach { option ->
             createOption(option)
@@ -0,0 +1,93 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.discord.kord
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.incendo.cloud.execution.ExecutionCoordinator
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.util.concurrent.TimeUnit
+
+class KordCommandManagerTest {
+
+    private lateinit var commandManager: KordCommandManager<Any>
+
+    @BeforeEach
+    fun setup() {
+        commandManager = KordCommandManager(ExecutionCoordinator.simpleCoordinator()) { it }
+    }
+
+    @AfterEach
+    fun teardown() {
+        commandManager.close()
+    }
+
+    @Test
+    fun testExceptionRepliesDoNotBlockTheHandlingThread() {
+        // Arrange
+        val release = CompletableDeferred<Unit>()
+        val replied = CompletableDeferred<String>()
+        commandManager.exceptionReplier = { _, message ->
+            release.await()
+            replied.complete(message)
+        }
+        commandManager.command(commandManager.commandBuilder("fail").handler { throw IllegalStateException() })
+
+        // Act
+        val execution = commandManager.commandExecutor().executeCommand(Any(), "fail")
+        runCatching { execution.get(5L, TimeUnit.SECONDS) }
+        val repliedBeforeRelease = replied.isCompleted
+        release.complete(Unit)
+        val message = runBlocking { withTimeout(5_000L) { replied.await() } }
+
+        // Assert
+        assertThat(execution.isDone).isTrue()
+        assertThat(repliedBeforeRelease).isFalse()
+        assertThat(message).isNotEmpty()
+    }
+
+    @Test
+    fun testCloseCancelsPendingReplies() {
+        // Arrange
+        val replied = CompletableDeferred<String>()
+        commandManager.exceptionReplier = { _, message ->
+            CompletableDeferred<Unit>().await()
+            replied.complete(message)
+        }
+        commandManager.command(commandManager.commandBuilder("fail").handler { throw IllegalStateException() })
+        runCatching { commandManager.commandExecutor().executeCommand(Any(), "fail").get(5L, TimeUnit.SECONDS) }
+
+        // Act
+        commandManager.close()
+
+        // Assert
+        assertThat(commandManager.coroutineScope.coroutineContext[Job]!!.isCancelled).isTrue()
+        assertThat(replied.isCompleted).isFalse()
+    }
+}